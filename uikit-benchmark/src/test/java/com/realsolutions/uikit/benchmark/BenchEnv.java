@@ -0,0 +1,31 @@
+package com.realsolutions.uikit.benchmark;
+
+import android.content.Context;
+import android.os.Looper;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import org.robolectric.RuntimeEnvironment;
+
+/**
+ * Shared setup for benchmark states. JMH runs benchmark methods on its own
+ * worker thread inside the Robolectric sandbox (forks(0)).
+ */
+final class BenchEnv {
+
+    private BenchEnv() {
+    }
+
+    static Context themedContext() {
+        // worker thread: view constructors may create Handlers
+        if (Looper.myLooper() == null) Looper.prepare();
+        return new ContextThemeWrapper(RuntimeEnvironment.getApplication(),
+                com.realsolutions.uikit.R.style.Theme_RSUiKit);
+    }
+
+    static void layout(View view, int w, int h) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(w, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(h, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, w, h);
+    }
+}
@@ -0,0 +1,41 @@
+package com.realsolutions.uikit.benchmark;
+
+import com.realsolutions.uikit.RSButton;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RSButton.applyType: switching types vs re-applying the current one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RSButtonBenchmark {
+
+    private RSButton button;
+    private int step;
+
+    @Setup
+    public void setUp() {
+        button = new RSButton(BenchEnv.themedContext());
+        BenchEnv.layout(button, 600, 160);
+    }
+
+    @Benchmark
+    public void applyTypeCycle() {
+        button.applyType(step++ % 5);
+    }
+
+    @Benchmark
+    public void applyTypeSame() {
+        button.applyType(RSButton.TYPE_PRIMARY);
+    }
+}
@@ -0,0 +1,40 @@
+package com.realsolutions.uikit.benchmark;
+
+import com.realsolutions.uikit.RSCheckBox;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RSCheckBox.setStatus: unchecked -> checked -> indeterminate -> ...
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RSCheckBoxBenchmark {
+
+    private RSCheckBox checkBox;
+    private int step;
+
+    @Setup
+    public void setUp() {
+        checkBox = new RSCheckBox(BenchEnv.themedContext());
+    }
+
+    @Benchmark
+    public void setStatusCycle() {
+        checkBox.setStatus(step++ % 3);
+    }
+
+    @Benchmark
+    public RSCheckBox construct() {
+        return new RSCheckBox(BenchEnv.themedContext());
+    }
+}
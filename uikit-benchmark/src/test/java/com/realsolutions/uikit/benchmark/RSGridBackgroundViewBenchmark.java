@@ -0,0 +1,84 @@
+package com.realsolutions.uikit.benchmark;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+import com.realsolutions.uikit.RSGridBackgroundView;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RSGridBackgroundView.onDraw for fitted, zoomed and heatmap grids.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RSGridBackgroundViewBenchmark {
+
+    private static final int W = 1080;
+    private static final int H = 1080;
+
+    @Param({"4", "32", "128"})
+    public int gridSize;
+
+    private RSGridBackgroundView grid;
+    private RSGridBackgroundView zoomed;
+    private RSGridBackgroundView heatmap;
+    private Bitmap bitmap;
+    private Canvas canvas;
+    private int step;
+
+    @Setup
+    public void setUp() {
+        grid = newGrid();
+
+        zoomed = newGrid();
+        zoomed.setZoomEnabled(true);
+        zoomed.setZoom(2f, W / 2f, H / 2f);
+
+        heatmap = newGrid();
+        heatmap.setCells(new int[gridSize * gridSize]);
+
+        bitmap = Bitmap.createBitmap(W, H, Bitmap.Config.ARGB_8888);
+        canvas = new Canvas(bitmap);
+    }
+
+    @TearDown
+    public void tearDown() {
+        bitmap.recycle();
+    }
+
+    private RSGridBackgroundView newGrid() {
+        RSGridBackgroundView v = new RSGridBackgroundView(BenchEnv.themedContext());
+        v.setGrid(gridSize, gridSize);
+        BenchEnv.layout(v, W, H);
+        return v;
+    }
+
+    @Benchmark
+    public void drawFitted() {
+        grid.draw(canvas);
+    }
+
+    @Benchmark
+    public void drawZoomed() {
+        zoomed.draw(canvas);
+    }
+
+    @Benchmark
+    public void heatmapSetCellAndDraw() {
+        int i = step++;
+        heatmap.setCell((i / gridSize) % gridSize, i % gridSize, 0xFF000000 | ((i * 97) & 0xFFFFFF));
+        heatmap.draw(canvas);
+    }
+}
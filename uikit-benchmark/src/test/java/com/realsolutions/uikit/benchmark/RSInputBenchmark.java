@@ -0,0 +1,81 @@
+package com.realsolutions.uikit.benchmark;
+
+import android.content.Context;
+
+import com.realsolutions.uikit.RSEditText;
+import com.realsolutions.uikit.RSPasswordInput;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RSEditText / RSPasswordInput construction (inflate vs builder) and state transitions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RSInputBenchmark {
+
+    // default -> focused -> error -> success -> default ...
+    private static final int[] STATES = {
+            RSEditText.STATE_DEFAULT,
+            RSEditText.STATE_FOCUSED,
+            RSEditText.STATE_ERROR,
+            RSEditText.STATE_SUCCESS
+    };
+
+    private Context context;
+    private RSEditText editText;
+    private RSPasswordInput password;
+    private int step;
+
+    @Setup
+    public void setUp() {
+        context = BenchEnv.themedContext();
+        editText = new RSEditText(context);
+        password = new RSPasswordInput(context);
+    }
+
+    @Benchmark
+    public RSEditText editTextInflate() {
+        return new RSEditText(context);
+    }
+
+    @Benchmark
+    public RSEditText editTextBuilder() {
+        return new RSEditText.Builder(context)
+                .setLabel("Sicil No")
+                .setHint("Sicil numaranızı girin")
+                .build();
+    }
+
+    @Benchmark
+    public RSPasswordInput passwordInflate() {
+        return new RSPasswordInput(context);
+    }
+
+    @Benchmark
+    public RSPasswordInput passwordBuilder() {
+        return new RSPasswordInput.Builder(context)
+                .setLabel("Parola")
+                .setHint("Parolanızı girin")
+                .build();
+    }
+
+    @Benchmark
+    public void editTextStateCycle() {
+        editText.setState(STATES[step++ & 3]);
+    }
+
+    @Benchmark
+    public void passwordStateCycle() {
+        password.setState(STATES[step++ & 3]);
+    }
+}
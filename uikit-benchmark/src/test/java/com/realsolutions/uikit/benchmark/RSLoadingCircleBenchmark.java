@@ -0,0 +1,58 @@
+package com.realsolutions.uikit.benchmark;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+import com.realsolutions.uikit.RSLoadingCircle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RSLoadingCircle size changes (shader lookup) and per-frame drawing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RSLoadingCircleBenchmark {
+
+    private static final int SIZE = 288;
+
+    private RSLoadingCircle circle;
+    private Bitmap bitmap;
+    private Canvas canvas;
+    private boolean toggle;
+
+    @Setup
+    public void setUp() {
+        circle = new RSLoadingCircle(BenchEnv.themedContext());
+        BenchEnv.layout(circle, SIZE, SIZE);
+        bitmap = Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888);
+        canvas = new Canvas(bitmap);
+    }
+
+    @TearDown
+    public void tearDown() {
+        bitmap.recycle();
+    }
+
+    @Benchmark
+    public void sizeChanged() {
+        // layout -> setFrame -> onSizeChanged
+        int s = (toggle = !toggle) ? SIZE : SIZE - 24;
+        BenchEnv.layout(circle, s, s);
+    }
+
+    @Benchmark
+    public void draw() {
+        circle.draw(canvas);
+    }
+}
@@ -0,0 +1,62 @@
+package com.realsolutions.uikit.benchmark;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+import java.io.File;
+import java.util.Collection;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Runs all JMH benchmarks of this module inside one Robolectric sandbox.
+ *
+ * forks(0): benchmarks must run in this JVM, a forked JVM would have no
+ * Android environment. GCProfiler adds gc.alloc.rate.norm (bytes / op).
+ * Results are written as JMH JSON to the rs.bench.result path (see build.gradle).
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class RSUiKitBenchmarkRunner {
+
+    @Test
+    public void runBenchmarks() throws RunnerException {
+        assumeTrue("benchmarks run with -PrsBench", Boolean.getBoolean("rs.bench"));
+
+        String include = System.getProperty("rs.bench.include", ".*");
+        File result = new File(System.getProperty("rs.bench.result", "build/jmh/local.json"));
+        File dir = result.getParentFile();
+        if (dir != null) dir.mkdirs();
+
+        Options options = new OptionsBuilder()
+                .include(RSUiKitBenchmarkRunner.class.getPackage().getName() + "\\..*" + include)
+                .forks(0)
+                .threads(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.getAbsolutePath())
+                .shouldFailOnError(true)
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertFalse("no benchmark matched " + include, results.isEmpty());
+        System.out.println("JMH results: " + result.getAbsolutePath());
+    }
+}
@@ -0,0 +1,156 @@
+package com.realsolutions.uikit;
+
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+import android.widget.EditText;
+import android.widget.ListPopupWindow;
+import android.widget.ListView;
+import android.widget.TextView;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Suggestion dropdown used by RSEditText's autocomplete mode.
+ *
+ * keystroke -> RSPrefixIndex.query(text, results) -> adapter count -> popup
+ *
+ * The result ids live in one int[] sized once (max suggestions); the
+ * adapter reads entries straight from the index, so a keystroke allocates
+ * no candidate list.
+ */
+final class RSAutocomplete extends BaseAdapter implements TextWatcher {
+
+    static final int DEFAULT_MAX_SUGGESTIONS = 8;
+
+    interface Target {
+        void onSuggestionPicked(int id, String entry);
+    }
+
+    private final EditText editText;
+    private final View anchor;
+    private final RSPrefixIndex index;
+    private final Target target;
+    private final int[] results;
+    private int count;
+
+    private ListPopupWindow popup;
+    private boolean picking;
+
+    RSAutocomplete(EditText editText, View anchor, RSPrefixIndex index, int maxSuggestions, Target target) {
+        this.editText = editText;
+        this.anchor = anchor;
+        this.index = index;
+        this.target = target;
+        this.results = new int[Math.max(1, maxSuggestions)];
+        editText.addTextChangedListener(this);
+    }
+
+    void release() {
+        editText.removeTextChangedListener(this);
+        dismiss();
+    }
+
+    void dismiss() {
+        if (popup != null) popup.dismiss();
+    }
+
+    boolean isShowing() {
+        return popup != null && popup.isShowing();
+    }
+
+    /**
+     * Dropdown list, null before the popup was first shown.
+     */
+    @Nullable
+    ListView getListView() {
+        return popup == null ? null : popup.getListView();
+    }
+
+    RSPrefixIndex getIndex() {
+        return index;
+    }
+
+    @Override
+    public void afterTextChanged(Editable s) {
+        // seçilen öneri yazılırken listeyi tekrar açma
+        if (picking) return;
+        count = index.query(s, results);
+        notifyDataSetChanged();
+
+        if (count == 0 || !editText.hasFocus() || !anchor.isAttachedToWindow()) {
+            dismiss();
+        } else {
+            // açıkken de show(): liste yeniden ölçülür, sonuç sayısı değişince yükseklik uyar
+            popup().show();
+        }
+    }
+
+    @Override
+    public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+    }
+
+    @Override
+    public void onTextChanged(CharSequence s, int start, int before, int count) {
+    }
+
+    private ListPopupWindow popup() {
+        if (popup == null) {
+            popup = new ListPopupWindow(anchor.getContext());
+            popup.setAnchorView(anchor);
+            popup.setAdapter(this);
+            // modal değil: dropdown açıkken klavye yazmaya devam eder
+            popup.setModal(false);
+            popup.setInputMethodMode(ListPopupWindow.INPUT_METHOD_NEEDED);
+            popup.setOnItemClickListener((parent, view, position, id) -> pick(position));
+        }
+        return popup;
+    }
+
+    void pick(int position) {
+        if (position < 0 || position >= count) return;
+        int id = results[position];
+        String entry = index.getEntry(id);
+        picking = true;
+        try {
+            editText.setText(entry);
+            editText.setSelection(editText.length());
+        } finally {
+            picking = false;
+        }
+        dismiss();
+        target.onSuggestionPicked(id, entry);
+    }
+
+    // ------------------------------------------------------------------
+    // Adapter
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public String getItem(int position) {
+        return index.getEntry(results[position]);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return results[position];
+    }
+
+    @Override
+    public View getView(int position, View convertView, ViewGroup parent) {
+        TextView tv = (TextView) convertView;
+        if (tv == null) {
+            tv = (TextView) LayoutInflater.from(parent.getContext())
+                    .inflate(android.R.layout.simple_list_item_1, parent, false);
+        }
+        tv.setText(getItem(position));
+        return tv;
+    }
+}
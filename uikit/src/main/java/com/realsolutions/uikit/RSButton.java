@@ -2,15 +2,14 @@ package com.realsolutions.uikit;
 
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
 import android.util.AttributeSet;
 
 import androidx.annotation.Nullable;
-import androidx.core.content.ContextCompat;
 
 import com.google.android.material.button.MaterialButton;
 
-import java.util.Objects;
-
 /**
  * RealSolutions UI Kit Button
  *
@@ -41,6 +40,10 @@ public class RSButton extends MaterialButton {
 
     private int type = TYPE_PRIMARY;
 
+    private Drawable appliedBackground;
+    private final Rect paddingA = new Rect();
+    private final Rect paddingB = new Rect();
+
     public RSButton(Context context) {
         super(context);
         init(null);
@@ -57,6 +60,8 @@ public class RSButton extends MaterialButton {
     }
 
     private void init(@Nullable AttributeSet attrs) {
+        long t = RSUiKitMetrics.begin();
+
         // Defaults
         setAllCaps(false);
         setMinHeight(dp(48));
@@ -80,45 +85,49 @@ public class RSButton extends MaterialButton {
         }
 
         applyType(type);
+        RSUiKitMetrics.endInit(RSUiKitMetrics.COMPONENT_BUTTON, t);
     }
 
     /**
      * Apply style type programmatically.
+     *
+     * Background and text color come from RSButtonStyleCache, so switching
+     * types only creates a Drawable from a cached ConstantState.
+     * Layout is requested only when the new background changes padding or size.
      */
     public void applyType(int type) {
+        // same type, our background still in place: nothing to do
+        if (type == this.type && appliedBackground != null && getBackground() == appliedBackground
+                && RSButtonStyleCache.isCurrent(getContext())) {
+            return;
+        }
         this.type = type;
+        long t = RSUiKitMetrics.begin();
 
-        switch (type) {
-            case TYPE_SECONDARY:
-                setBackground(Objects.requireNonNull(ContextCompat.getDrawable(getContext(), R.drawable.rs_btn_secondary_bg)));
-                setTextColor(ContextCompat.getColorStateList(getContext(), R.color.rs_btn_secondary_text));
-                break;
-
-            case TYPE_NEUTRAL:
-                setBackground(Objects.requireNonNull(ContextCompat.getDrawable(getContext(), R.drawable.rs_btn_neutral_bg)));
-                setTextColor(ContextCompat.getColorStateList(getContext(), R.color.rs_btn_neutral_text));
-                break;
-
-            case TYPE_PLAIN_DARK:
-                setBackground(Objects.requireNonNull(ContextCompat.getDrawable(getContext(), R.drawable.rs_btn_plain_dark_bg)));
-                setTextColor(ContextCompat.getColorStateList(getContext(), R.color.rs_btn_plain_dark_text));
-                break;
-
-            case TYPE_PLAIN_LIGHT:
-                setBackground(Objects.requireNonNull(ContextCompat.getDrawable(getContext(), R.drawable.rs_btn_plain_light_bg)));
-                setTextColor(ContextCompat.getColorStateList(getContext(), R.color.rs_btn_plain_light_text));
-                break;
-
-            case TYPE_PRIMARY:
-            default:
-                setBackground(Objects.requireNonNull(ContextCompat.getDrawable(getContext(), R.drawable.rs_btn_primary_bg)));
-                setTextColor(ContextCompat.getColorStateList(getContext(), R.color.rs_btn_primary_text));
-                break;
-        }
+        Drawable old = getBackground();
+        Drawable bg = RSButtonStyleCache.newBackground(getContext(), type);
+        boolean relayout = !sameBounds(old, bg);
 
-        // Make sure it redraws
-        invalidate();
-        requestLayout();
+        appliedBackground = bg;
+        setBackground(bg);
+        setTextColor(RSButtonStyleCache.textColor(getContext(), type));
+
+        // setBackground / setTextColor already invalidate
+        if (relayout) requestLayout();
+        RSUiKitMetrics.endState(RSUiKitMetrics.COMPONENT_BUTTON, type, t);
+    }
+
+    private boolean sameBounds(@Nullable Drawable a, Drawable b) {
+        if (a == null) return false;
+        if (a.getIntrinsicWidth() != b.getIntrinsicWidth()
+                || a.getIntrinsicHeight() != b.getIntrinsicHeight()
+                || a.getMinimumWidth() != b.getMinimumWidth()
+                || a.getMinimumHeight() != b.getMinimumHeight()) {
+            return false;
+        }
+        boolean hasA = a.getPadding(paddingA);
+        boolean hasB = b.getPadding(paddingB);
+        return hasA == hasB && paddingA.equals(paddingB);
     }
 
     /**
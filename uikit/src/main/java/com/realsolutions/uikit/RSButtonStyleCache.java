@@ -0,0 +1,93 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.graphics.drawable.Drawable;
+
+import androidx.core.content.ContextCompat;
+
+import java.util.Objects;
+
+/**
+ * Process-wide cache of RSButton backgrounds and text colors.
+ *
+ * Keeps one background ConstantState and one text ColorStateList per TYPE_*,
+ * resolved once per configuration (light / night, density). Buttons get a
+ * fresh Drawable through ConstantState.newDrawable(), which shares the parsed
+ * selector and gradients instead of going through resource lookup again.
+ *
+ * Synchronized: RSViewPool creates buttons on its background thread.
+ */
+final class RSButtonStyleCache {
+
+    private static final int TYPE_COUNT = 5;
+
+    private static final int[] BACKGROUNDS = {
+            R.drawable.rs_btn_primary_bg,
+            R.drawable.rs_btn_secondary_bg,
+            R.drawable.rs_btn_neutral_bg,
+            R.drawable.rs_btn_plain_dark_bg,
+            R.drawable.rs_btn_plain_light_bg
+    };
+
+    private static final int[] TEXT_COLORS = {
+            R.color.rs_btn_primary_text,
+            R.color.rs_btn_secondary_text,
+            R.color.rs_btn_neutral_text,
+            R.color.rs_btn_plain_dark_text,
+            R.color.rs_btn_plain_light_text
+    };
+
+    private static final Drawable.ConstantState[] backgroundStates = new Drawable.ConstantState[TYPE_COUNT];
+    private static final ColorStateList[] textColors = new ColorStateList[TYPE_COUNT];
+    private static int key = -1;
+
+    private RSButtonStyleCache() {
+    }
+
+    static synchronized Drawable newBackground(Context context, int type) {
+        int i = index(context, type);
+        Drawable.ConstantState cs = backgroundStates[i];
+        if (cs == null) {
+            Drawable d = Objects.requireNonNull(ContextCompat.getDrawable(context, BACKGROUNDS[i]));
+            cs = Objects.requireNonNull(d.getConstantState());
+            backgroundStates[i] = cs;
+        }
+        return cs.newDrawable(context.getResources());
+    }
+
+    static synchronized ColorStateList textColor(Context context, int type) {
+        int i = index(context, type);
+        ColorStateList csl = textColors[i];
+        if (csl == null) {
+            csl = ContextCompat.getColorStateList(context, TEXT_COLORS[i]);
+            textColors[i] = csl;
+        }
+        return csl;
+    }
+
+    /**
+     * True when cached values resolved for this context are still valid.
+     */
+    static synchronized boolean isCurrent(Context context) {
+        return key == RSConfigKey.of(context.getResources().getConfiguration());
+    }
+
+    static synchronized void invalidate() {
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            backgroundStates[i] = null;
+            textColors[i] = null;
+        }
+        key = -1;
+    }
+
+    private static int index(Context context, int type) {
+        int k = RSConfigKey.of(context.getResources().getConfiguration());
+        if (k != key) {
+            invalidate();
+            key = k;
+        }
+        // unknown types fall back to primary, like RSButton.applyType()
+        return (type >= 0 && type < TYPE_COUNT) ? type : RSButton.TYPE_PRIMARY;
+    }
+}
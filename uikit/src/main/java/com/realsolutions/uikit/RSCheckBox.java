@@ -2,12 +2,16 @@ package com.realsolutions.uikit;
 
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.drawable.Drawable;
 import android.util.AttributeSet;
 
 import androidx.annotation.Nullable;
 import androidx.appcompat.widget.AppCompatCheckBox;
+import androidx.core.content.ContextCompat;
 import androidx.core.widget.CompoundButtonCompat;
 
+import java.util.Objects;
+
 /**
  * RealSolutions UI Kit CheckBox
  *
@@ -25,7 +29,14 @@ import androidx.core.widget.CompoundButtonCompat;
  *      app:rsSize="md"
  *      app:rsStatus="indeterminate" />
  *
+ * Drawing:
+ *  - One StateListDrawable per size (rs_checkbox_button_sm / md), preloaded once
+ *  - Status is exposed as drawable state (state_checked / app:state_indeterminate),
+ *    so setStatus() only refreshes drawable state, no resource lookup or layout
+ *
  * Requires drawables:
+ *  - rs_checkbox_button_sm.xml
+ *  - rs_checkbox_button_md.xml
  *  - rs_checkbox_unchecked_sm.xml
  *  - rs_checkbox_checked_sm.xml
  *  - rs_checkbox_indeterminate_sm.xml
@@ -46,10 +57,25 @@ public class RSCheckBox extends AppCompatCheckBox {
     public static final int STATUS_CHECKED = 1;
     public static final int STATUS_INDETERMINATE = 2;
 
+    private static final int[] STATE_INDETERMINATE = {R.attr.state_indeterminate};
+
+    // Preloaded rs_checkbox_button_sm / md selectors, shared by all instances
+    // (guarded by buttonStates: RSViewPool creates checkboxes in the background)
+    private static final Drawable.ConstantState[] buttonStates = new Drawable.ConstantState[2];
+    private static int buttonStatesKey = -1;
+
     private int size = SIZE_MD;
     private int status = STATUS_UNCHECKED;
     private String text;
 
+    // RSUiKit.batch: checked flag + listener hemen, drawable state frame'de
+    private boolean holdDrawableState;
+    private boolean refreshDeferred;
+    private final Runnable deferredRefresh = () -> {
+        refreshDeferred = false;
+        refreshDrawableState();
+    };
+
     public RSCheckBox(Context context) {
         super(context);
         init(null);
@@ -66,6 +92,7 @@ public class RSCheckBox extends AppCompatCheckBox {
     }
 
     private void init(@Nullable AttributeSet attrs) {
+        long t = RSUiKitMetrics.begin();
 
         // default: metni yok sayalım gibi davran (istersen kaldırırsın)
         setText(null);
@@ -82,30 +109,36 @@ public class RSCheckBox extends AppCompatCheckBox {
             a.recycle();
         }
 
-        applyDrawableForState();
+        applyDrawableForSize();
         syncAndroidCheckedFlag();
+        RSUiKitMetrics.endInit(RSUiKitMetrics.COMPONENT_CHECKBOX, t);
     }
 
     private void syncAndroidCheckedFlag() {
         // Android "checked" sadece checked iken true
         super.setChecked(status == STATUS_CHECKED);
+        // indeterminate, checked flag'i değiştirmeden de değişebilir
         refreshDrawableState();
     }
 
-    private void applyDrawableForState() {
-        int resId;
-
-        if (size == SIZE_SM) {
-            if (status == STATUS_CHECKED) resId = R.drawable.rs_checkbox_checked_sm;
-            else if (status == STATUS_INDETERMINATE) resId = R.drawable.rs_checkbox_indeterminate_sm;
-            else resId = R.drawable.rs_checkbox_unchecked_sm;
-        } else {
-            if (status == STATUS_CHECKED) resId = R.drawable.rs_checkbox_checked_md;
-            else if (status == STATUS_INDETERMINATE) resId = R.drawable.rs_checkbox_indeterminate_md;
-            else resId = R.drawable.rs_checkbox_unchecked_md;
+    @Override
+    public void refreshDrawableState() {
+        if (holdDrawableState) return;
+        super.refreshDrawableState();
+    }
+
+    @Override
+    protected int[] onCreateDrawableState(int extraSpace) {
+        int[] drawableState = super.onCreateDrawableState(extraSpace + 1);
+        if (status == STATUS_INDETERMINATE) {
+            mergeDrawableStates(drawableState, STATE_INDETERMINATE);
         }
+        return drawableState;
+    }
 
-        setButtonDrawable(resId);
+    private void applyDrawableForSize() {
+        // tek StateListDrawable: checked / indeterminate / unchecked drawable state ile seçilir
+        setButtonDrawable(newButtonDrawable(getContext(), size));
 
         // boyutları garantiye alalım (wrap_content olsa bile)
         int px = dp(size == SIZE_SM ? 16 : 24);
@@ -113,6 +146,27 @@ public class RSCheckBox extends AppCompatCheckBox {
         setMinHeight(px);
     }
 
+    static Drawable newButtonDrawable(Context context, int size) {
+        int key = RSConfigKey.of(context.getResources().getConfiguration());
+        int i = size == SIZE_SM ? SIZE_SM : SIZE_MD;
+        Drawable.ConstantState cs;
+        synchronized (buttonStates) {
+            if (key != buttonStatesKey) {
+                buttonStates[SIZE_SM] = null;
+                buttonStates[SIZE_MD] = null;
+                buttonStatesKey = key;
+            }
+            cs = buttonStates[i];
+            if (cs == null) {
+                int resId = i == SIZE_SM ? R.drawable.rs_checkbox_button_sm : R.drawable.rs_checkbox_button_md;
+                Drawable d = Objects.requireNonNull(ContextCompat.getDrawable(context, resId));
+                cs = Objects.requireNonNull(d.getConstantState());
+                buttonStates[i] = cs;
+            }
+        }
+        return cs.newDrawable(context.getResources());
+    }
+
     public int getStatus() {
         return status;
     }
@@ -121,9 +175,27 @@ public class RSCheckBox extends AppCompatCheckBox {
         if (newStatus != STATUS_UNCHECKED && newStatus != STATUS_CHECKED && newStatus != STATUS_INDETERMINATE) {
             newStatus = STATUS_UNCHECKED;
         }
+        if (newStatus == status) return;
         status = newStatus;
-        applyDrawableForState();
+        // deferredRefresh null: super constructor'dan gelen setChecked, hemen uygula
+        if (RSUiKit.isBatching() && deferredRefresh != null) {
+            // isChecked() / listener güncel kalsın; drawable bir sonraki frame'de, son status ile
+            holdDrawableState = true;
+            try {
+                super.setChecked(status == STATUS_CHECKED);
+            } finally {
+                holdDrawableState = false;
+            }
+            if (!refreshDeferred) {
+                refreshDeferred = true;
+                RSUiKit.defer(deferredRefresh);
+            }
+            return;
+        }
+        long t = RSUiKitMetrics.begin();
+        // sadece drawable state değişir: resource lookup / layout yok
         syncAndroidCheckedFlag();
+        RSUiKitMetrics.endState(RSUiKitMetrics.COMPONENT_CHECKBOX, newStatus, t);
     }
 
     public void setIndeterminate() {
@@ -0,0 +1,343 @@
+package com.realsolutions.uikit;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * RealSolutions UI Kit - CheckBox Group
+ *
+ * Tri-state "select all" model for RSCheckBox trees (header -> sub header -> items).
+ *
+ * - Every node keeps its leaf count and checked leaf count, so a parent's
+ *   status is known without scanning its children:
+ *     checked == leaves -> STATUS_CHECKED
+ *     checked == 0      -> STATUS_UNCHECKED
+ *     otherwise         -> STATUS_INDETERMINATE
+ * - Toggling an item updates its ancestors only: O(depth)
+ * - setAllChecked() is a bulk operation: O(depth) as well. The subtree is
+ *   marked with a stamped assignment and children read it lazily, nothing is
+ *   written per child. Listeners get one onBulkChanged() call.
+ *
+ * Usage (Java):
+ *
+ * RSCheckBoxGroup group = new RSCheckBoxGroup();
+ * RSCheckBoxGroup.Node header = group.addChild(group.getRoot());
+ * RSCheckBoxGroup.Node item = group.addChild(header);
+ *
+ * group.bind(header, headerCheckBox);   // e.g. in onBindViewHolder
+ * group.bind(item, itemCheckBox);
+ *
+ * group.toggle(item);                   // item checked, header indeterminate/checked
+ * group.setAllChecked(group.getRoot(), true);   // select all
+ *
+ * Notes:
+ * - Bound RSCheckBox clicks call toggle() for their node
+ * - Only bound views get setStatus(); unbind() them when recycled away
+ * - Main thread only
+ */
+public class RSCheckBoxGroup implements View.OnClickListener {
+
+    public interface OnStatusChangeListener {
+
+        /**
+         * A single toggle changed this node's status (called for the node and
+         * for every ancestor whose status changed).
+         */
+        void onStatusChanged(@NonNull Node node, int status);
+
+        /**
+         * setAllChecked() changed the whole subtree under root (and possibly
+         * root's ancestors). Called once per bulk operation.
+         */
+        void onBulkChanged(@NonNull Node root);
+    }
+
+    public static final class Node {
+
+        @Nullable
+        final Node parent;
+        final int depth;
+
+        // null while the node is a leaf (item)
+        @Nullable
+        ArrayList<Node> children;
+
+        int leafCount;
+        int checkedCount;
+
+        // checkedCount is valid as of countStamp, unless an ancestor-or-self
+        // assignment with a newer stamp exists
+        long countStamp;
+        long assignStamp;
+        boolean assignChecked;
+
+        @Nullable
+        RSCheckBox view;
+
+        @Nullable
+        public Object tag;
+
+        Node(@Nullable Node parent, long stamp) {
+            this.parent = parent;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+            this.countStamp = stamp;
+        }
+
+        @Nullable
+        public Node getParent() {
+            return parent;
+        }
+
+        public int getChildCount() {
+            return children == null ? 0 : children.size();
+        }
+
+        public Node getChildAt(int index) {
+            if (children == null) throw new IndexOutOfBoundsException("leaf node");
+            return children.get(index);
+        }
+
+        public boolean isLeaf() {
+            return children == null;
+        }
+    }
+
+    private final Node root;
+    private final IdentityHashMap<RSCheckBox, Node> boundViews = new IdentityHashMap<>();
+
+    @Nullable
+    private OnStatusChangeListener listener;
+
+    private long clock;
+    private Node[] path = new Node[8];
+
+    public RSCheckBoxGroup() {
+        root = new Node(null, 0);
+        root.children = new ArrayList<>();
+    }
+
+    public Node getRoot() {
+        return root;
+    }
+
+    public void setOnStatusChangeListener(@Nullable OnStatusChangeListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Adds an unchecked item under parent. A leaf parent becomes a header.
+     */
+    public Node addChild(@NonNull Node parent) {
+        int n = materializePath(parent);
+
+        int leafDelta;
+        int checkedDelta;
+        if (parent.children == null) {
+            // leaf -> header: still one leaf below, but that leaf is the new (unchecked) child
+            parent.children = new ArrayList<>();
+            leafDelta = 0;
+            checkedDelta = -parent.checkedCount;
+            parent.checkedCount = 0;
+            parent.leafCount = 0;
+        } else {
+            leafDelta = 1;
+            checkedDelta = 0;
+        }
+
+        Node child = new Node(parent, ++clock);
+        child.leafCount = 1;
+        parent.children.add(child);
+        parent.leafCount++;
+
+        // ancestors of parent (path[0..n-2])
+        for (int i = n - 2; i >= 0; i--) {
+            path[i].leafCount += leafDelta;
+            path[i].checkedCount += checkedDelta;
+        }
+        // structure changes are not user toggles; refresh what is on screen
+        refreshPath(n);
+        return child;
+    }
+
+    public int getStatus(@NonNull Node node) {
+        return statusOf(node.leafCount, effectiveChecked(node));
+    }
+
+    public int getCheckedCount(@NonNull Node node) {
+        return effectiveChecked(node);
+    }
+
+    public int getLeafCount(@NonNull Node node) {
+        return node.leafCount;
+    }
+
+    /**
+     * Item: checked <-> unchecked. Header: select all unless all are selected.
+     */
+    public void toggle(@NonNull Node node) {
+        if (node.children == null) {
+            setChecked(node, effectiveChecked(node) == 0);
+        } else {
+            setAllChecked(node, getStatus(node) != RSCheckBox.STATUS_CHECKED);
+        }
+    }
+
+    /**
+     * Sets a single item and updates its ancestors: O(depth).
+     */
+    public void setChecked(@NonNull Node leaf, boolean checked) {
+        if (leaf.children != null) {
+            setAllChecked(leaf, checked);
+            return;
+        }
+
+        int n = materializePath(leaf);
+        int delta = (checked ? 1 : 0) - leaf.checkedCount;
+        if (delta == 0) return;
+
+        for (int i = n - 1; i >= 0; i--) {
+            Node node = path[i];
+            int oldStatus = statusOf(node.leafCount, node.checkedCount);
+            node.checkedCount += delta;
+            int status = statusOf(node.leafCount, node.checkedCount);
+
+            // parents above an unchanged status can still change, keep walking
+            if (status != oldStatus) {
+                if (node.view != null) node.view.setStatus(status);
+                if (listener != null) listener.onStatusChanged(node, status);
+            }
+        }
+    }
+
+    /**
+     * Bulk select / deselect of a subtree: O(depth) model work, one listener
+     * call, setStatus() only for bound views whose status changed.
+     */
+    public void setAllChecked(@NonNull Node subtree, boolean checked) {
+        int n = materializePath(subtree);
+        int target = checked ? subtree.leafCount : 0;
+        int delta = target - subtree.checkedCount;
+
+        long stamp = ++clock;
+        subtree.checkedCount = target;
+        subtree.countStamp = stamp;
+        subtree.assignStamp = stamp;
+        subtree.assignChecked = checked;
+
+        for (int i = n - 2; i >= 0; i--) {
+            path[i].checkedCount += delta;
+        }
+
+        for (Node node : boundViews.values()) {
+            node.view.setStatus(getStatus(node));
+        }
+        if (listener != null) listener.onBulkChanged(subtree);
+    }
+
+    /**
+     * Binds a checkbox to a node: sets its status now, keeps it in sync and
+     * routes its clicks to toggle(). A checkbox can be bound to one node at a time.
+     */
+    public void bind(@NonNull Node node, @NonNull RSCheckBox checkBox) {
+        Node previous = boundViews.put(checkBox, node);
+        if (previous != null && previous != node) previous.view = null;
+        if (node.view != null && node.view != checkBox) boundViews.remove(node.view);
+
+        node.view = checkBox;
+        checkBox.setOnClickListener(this);
+        checkBox.setStatus(getStatus(node));
+    }
+
+    public void unbind(@NonNull RSCheckBox checkBox) {
+        Node node = boundViews.remove(checkBox);
+        if (node != null) node.view = null;
+        checkBox.setOnClickListener(null);
+    }
+
+    @Override
+    public void onClick(View v) {
+        Node node = boundViews.get(v);
+        if (node != null) toggle(node);
+    }
+
+    /**
+     * Collects all leaves under node whose effective status is checked.
+     */
+    public void collectChecked(@NonNull Node node, @NonNull List<Node> out) {
+        if (getCheckedCount(node) == 0) return;
+        if (node.children == null) {
+            out.add(node);
+            return;
+        }
+        for (int i = 0; i < node.children.size(); i++) {
+            collectChecked(node.children.get(i), out);
+        }
+    }
+
+    // ------------------------------------------------------------------
+
+    private static int statusOf(int leaves, int checked) {
+        if (checked <= 0 || leaves == 0) return RSCheckBox.STATUS_UNCHECKED;
+        if (checked >= leaves) return RSCheckBox.STATUS_CHECKED;
+        return RSCheckBox.STATUS_INDETERMINATE;
+    }
+
+    /**
+     * Checked leaves under node, taking the newest ancestor-or-self bulk
+     * assignment into account. O(depth), no writes.
+     */
+    private int effectiveChecked(Node node) {
+        long bestStamp = node.countStamp;
+        boolean assigned = false;
+        boolean value = false;
+        for (Node a = node; a != null; a = a.parent) {
+            if (a.assignStamp > bestStamp) {
+                bestStamp = a.assignStamp;
+                assigned = true;
+                value = a.assignChecked;
+            }
+        }
+        if (!assigned) return node.checkedCount;
+        return value ? node.leafCount : 0;
+    }
+
+    /**
+     * Writes effective counts into root..node so deltas can be applied
+     * directly. Siblings off the path keep reading the ancestor assignment.
+     *
+     * @return path length; path[0] is the root, path[n - 1] is node
+     */
+    private int materializePath(Node node) {
+        int n = node.depth + 1;
+        if (path.length < n) path = new Node[Math.max(n, path.length * 2)];
+        for (Node a = node; a != null; a = a.parent) path[a.depth] = a;
+
+        long bestStamp = 0;
+        boolean value = false;
+        for (int i = 0; i < n; i++) {
+            Node p = path[i];
+            if (p.assignStamp > bestStamp) {
+                bestStamp = p.assignStamp;
+                value = p.assignChecked;
+            }
+            if (bestStamp > p.countStamp) {
+                p.checkedCount = value ? p.leafCount : 0;
+                p.countStamp = ++clock;
+            }
+        }
+        return n;
+    }
+
+    private void refreshPath(int n) {
+        for (int i = 0; i < n; i++) {
+            Node node = path[i];
+            if (node.view != null) node.view.setStatus(statusOf(node.leafCount, node.checkedCount));
+        }
+    }
+}
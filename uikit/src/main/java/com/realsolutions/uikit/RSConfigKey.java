@@ -0,0 +1,20 @@
+package com.realsolutions.uikit;
+
+import android.content.res.Configuration;
+
+/**
+ * Cache key for resources resolved by the kit's shared caches.
+ *
+ * The kit's colors only vary by night mode (values / values-night) and its
+ * drawables by density, so those two values are enough to tell whether a
+ * cached resource is still valid.
+ */
+final class RSConfigKey {
+
+    private RSConfigKey() {
+    }
+
+    static int of(Configuration c) {
+        return (c.uiMode & Configuration.UI_MODE_NIGHT_MASK) | (c.densityDpi << 8);
+    }
+}
@@ -1,15 +1,14 @@
 package com.realsolutions.uikit;
 
 import android.content.Context;
+import android.content.res.Configuration;
 import android.content.res.TypedArray;
-import android.graphics.drawable.Drawable;
 import android.text.Editable;
 import android.util.AttributeSet;
 import android.view.LayoutInflater;
 import android.widget.FrameLayout;
 
 import androidx.annotation.Nullable;
-import androidx.core.content.ContextCompat;
 
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
@@ -57,6 +56,31 @@ import com.google.android.material.textfield.TextInputLayout;
  * input.setSuccessState();     // success icon
  * input.clearStatus();         // back to normal
  *
+ * // Input mask (# digit, A letter, * alnum), formats in place while typing
+ * input.setMask("(###) ### ## ##");
+ * String digits = input.getUnmaskedText();
+ *
+ * // Validation (debounced, off the main thread)
+ * input.setValidator(text -> isValidSicil(text)
+ *         ? RSEditText.STATE_SUCCESS : RSEditText.STATE_ERROR);
+ *
+ * // Autocomplete (50k+ entries: index is built off the main thread)
+ * RSPrefixIndex.buildAsync(stations, RSPrefixIndex.FOLD_ASCII, input::setAutocomplete);
+ * input.setOnSuggestionClickListener((id, entry) -> selectStation(id));
+ *
+ * ----------------------------------------------------
+ * Usage (Java, without XML inflation):
+ *
+ * RSEditText input = new RSEditText.Builder(context)
+ *         .setLabel("Sicil No")
+ *         .setHint("Sicil numaranızı girin")
+ *         .setState(RSEditText.STATE_DEFAULT)
+ *         .build();
+ *
+ * The builder creates the TextInputLayout + TextInputEditText pair in code
+ * (see RSInputFactory) with the same settings as rs_edit_text.xml.
+ * Prefer it for screens that create many inputs at once.
+ *
  * ----------------------------------------------------
  * Requires:
  *
@@ -66,6 +90,7 @@ import com.google.android.material.textfield.TextInputLayout;
  *          <attr name="rsLabel" format="string"/>
  *          <attr name="rsHint" format="string"/>
  *          <attr name="rsState" format="enum"/>
+ *          <attr name="rsMask" format="string"/>
  *      </declare-styleable>
  * <p>
  * - res/layout/rs_edit_text.xml
@@ -85,6 +110,9 @@ import com.google.android.material.textfield.TextInputLayout;
  * - Error text under the input is disabled by design
  * - Visual feedback is provided only via border and icons
  * - Fully compatible with Light / Dark themes
+ * - State colors and icons come from the shared RSInputPalette
+ * - RSFlatEditText is a single-view variant with the same state API
+ *   (no TextInputLayout hierarchy), for screens with many inputs
  *
  */
 public class RSEditText extends FrameLayout {
@@ -94,11 +122,35 @@ public class RSEditText extends FrameLayout {
     public static final int STATE_ERROR = 2;
     public static final int STATE_SUCCESS = 3;
 
+    public interface OnSuggestionClickListener {
+        /**
+         * @param id    entry index in the array the RSPrefixIndex was built from
+         * @param entry the entry, already written into the input
+         */
+        void onSuggestionClick(int id, String entry);
+    }
+
     private TextInputLayout til;
     private TextInputEditText et;
 
     private int state = STATE_DEFAULT;
 
+    private RSInputStateEngine engine;
+    @Nullable
+    private RSValidation validation;
+    @Nullable
+    private RSInputMask.Formatter maskFormatter;
+    @Nullable
+    private RSAutocomplete autocomplete;
+    @Nullable
+    private OnSuggestionClickListener suggestionListener;
+
+    private boolean applyDeferred;
+    private final Runnable deferredApply = () -> {
+        applyDeferred = false;
+        applyState(state);
+    };
+
     public RSEditText(Context context) {
         super(context);
         init(null);
@@ -114,7 +166,26 @@ public class RSEditText extends FrameLayout {
         init(attrs);
     }
 
+    private RSEditText(Builder builder) {
+        super(builder.context);
+        long t = RSUiKitMetrics.begin();
+        til = RSInputFactory.createInputLayout(getContext(), TextInputLayout.END_ICON_CUSTOM);
+        et = RSInputFactory.createEditText(til.getContext(), false);
+        RSInputFactory.attach(this, til, et, true);
+
+        til.setEndIconVisible(false);
+
+        state = builder.state;
+        if (builder.label != null) til.setHint(builder.label);
+        if (builder.hint != null) til.setPlaceholderText(builder.hint);
+        if (builder.mask != null) setMask(builder.mask);
+
+        setup();
+        RSUiKitMetrics.endInit(RSUiKitMetrics.COMPONENT_EDIT_TEXT, t);
+    }
+
     private void init(@Nullable AttributeSet attrs) {
+        long t = RSUiKitMetrics.begin();
         LayoutInflater.from(getContext()).inflate(R.layout.rs_edit_text, this, true);
         til = findViewById(R.id.til);
         et = findViewById(R.id.et);
@@ -127,13 +198,22 @@ public class RSEditText extends FrameLayout {
             String label = a.getString(R.styleable.RSEditText_rsLabel);
             String hint = a.getString(R.styleable.RSEditText_rsHint);
             state = a.getInt(R.styleable.RSEditText_rsState, STATE_DEFAULT);
+            String mask = a.getString(R.styleable.RSEditText_rsMask);
 
             a.recycle();
 
             if (label != null) til.setHint(label);
             if (hint != null) til.setPlaceholderText(hint);
+            if (mask != null) setMask(mask);
         }
 
+        setup();
+        RSUiKitMetrics.endInit(RSUiKitMetrics.COMPONENT_EDIT_TEXT, t);
+    }
+
+    private void setup() {
+        engine = new RSInputStateEngine(til, RSInputPalette.obtain(getContext()), true);
+
         et.setOnFocusChangeListener((v, hasFocus) -> {
             if (hasFocus) {
                 if (state != STATE_ERROR && state != STATE_SUCCESS) {
@@ -143,6 +223,7 @@ public class RSEditText extends FrameLayout {
                 if (state != STATE_ERROR && state != STATE_SUCCESS) {
                     setState(STATE_DEFAULT);
                 }
+                if (autocomplete != null) autocomplete.dismiss();
             }
         });
 
@@ -157,6 +238,16 @@ public class RSEditText extends FrameLayout {
         til.setPlaceholderText(hint);
     }
 
+    @Nullable
+    public CharSequence getLabel() {
+        return til.getHint();
+    }
+
+    @Nullable
+    public CharSequence getHint() {
+        return til.getPlaceholderText();
+    }
+
     public Editable getText() {
         return et.getText();
     }
@@ -169,6 +260,65 @@ public class RSEditText extends FrameLayout {
         return et;
     }
 
+    /**
+     * Formats input while typing, in place (see RSInputMask for the syntax).
+     * null removes the mask; the current text is kept as is.
+     */
+    public void setMask(@Nullable String pattern) {
+        setMask(pattern == null ? null : RSInputMask.compile(pattern));
+    }
+
+    public void setMask(@Nullable RSInputMask mask) {
+        if (maskFormatter != null) maskFormatter.release();
+        maskFormatter = mask == null ? null : new RSInputMask.Formatter(mask, et);
+    }
+
+    @Nullable
+    public RSInputMask getMask() {
+        return maskFormatter == null ? null : maskFormatter.getMask();
+    }
+
+    /**
+     * Text without mask literals (same as getText() when no mask is set).
+     */
+    public String getUnmaskedText() {
+        String text = String.valueOf(et.getText());
+        return maskFormatter == null ? text : maskFormatter.getMask().unmask(text);
+    }
+
+    /**
+     * Shows a suggestion dropdown while typing, filled by prefix queries on
+     * the index (case / Turkish folding as configured on the index).
+     * null turns autocomplete off.
+     */
+    public void setAutocomplete(@Nullable RSPrefixIndex index) {
+        setAutocomplete(index, RSAutocomplete.DEFAULT_MAX_SUGGESTIONS);
+    }
+
+    public void setAutocomplete(@Nullable RSPrefixIndex index, int maxSuggestions) {
+        if (autocomplete != null) autocomplete.release();
+        autocomplete = index == null ? null
+                : new RSAutocomplete(et, this, index, maxSuggestions, this::onSuggestionPicked);
+    }
+
+    @Nullable
+    public RSPrefixIndex getAutocomplete() {
+        return autocomplete == null ? null : autocomplete.getIndex();
+    }
+
+    public void setOnSuggestionClickListener(@Nullable OnSuggestionClickListener listener) {
+        this.suggestionListener = listener;
+    }
+
+    private void onSuggestionPicked(int id, String entry) {
+        if (suggestionListener != null) suggestionListener.onSuggestionClick(id, entry);
+    }
+
+    @Nullable
+    RSAutocomplete getAutocompleteAdapter() {
+        return autocomplete;
+    }
+
     public void setState(int newState) {
         this.state = newState;
         applyState(newState);
@@ -193,44 +343,110 @@ public class RSEditText extends FrameLayout {
         setState(STATE_DEFAULT);
     }
 
+    /**
+     * Validates the text after each pause in typing (debounced), on a
+     * background thread, and applies the verdict as a single state change.
+     * Results for outdated text are dropped. null removes the validator.
+     */
+    public void setValidator(@Nullable RSValidator validator) {
+        setValidator(validator, RSValidation.DEFAULT_DEBOUNCE_MS);
+    }
+
+    public void setValidator(@Nullable RSValidator validator, long debounceMs) {
+        if (validation != null) validation.release();
+        validation = validator == null ? null : new RSValidation(et, validator, debounceMs, this::applyValidation);
+    }
+
+    /**
+     * Runs the validator for the current text without waiting for the debounce.
+     */
+    public void validate() {
+        if (validation != null) validation.validateNow();
+    }
+
+    private void applyValidation(int result) {
+        if (result == STATE_ERROR || result == STATE_SUCCESS) {
+            setState(result);
+        } else {
+            // karar yok: durumu temizle, fokus görünümü korunur
+            setState(et.hasFocus() ? STATE_FOCUSED : STATE_DEFAULT);
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        if (validation != null) validation.cancel();
+        if (autocomplete != null) autocomplete.dismiss();
+        super.onDetachedFromWindow();
+    }
+
+    @Override
+    protected void onConfigurationChanged(Configuration newConfig) {
+        super.onConfigurationChanged(newConfig);
+        // light <-> night: palette is re-resolved once and shared by all inputs
+        engine.setPalette(RSInputPalette.obtain(getContext()));
+        applyState(state);
+    }
+
     private void applyState(int st) {
-        switch (st) {
-            case STATE_FOCUSED:
-                til.setBoxStrokeColor(ContextCompat.getColor(getContext(), R.color.rs_input_stroke_focused));
-                til.setHintTextColor(ContextCompat.getColorStateList(getContext(), R.color.rs_input_label_focused));
-                til.setBoxBackgroundColor(ContextCompat.getColor(getContext(), R.color.rs_input_bg_focused));
-                til.setEndIconVisible(false);
-                break;
-
-            case STATE_ERROR:
-                til.setBoxStrokeColor(ContextCompat.getColor(getContext(), R.color.rs_input_stroke_error));
-                til.setHintTextColor(ContextCompat.getColorStateList(getContext(), R.color.rs_input_label_error));
-                til.setBoxBackgroundColor(ContextCompat.getColor(getContext(), R.color.rs_input_bg));
-                til.setEndIconDrawable(rsDrawable(R.drawable.rs_ic_error));
-                til.setEndIconTintList(ContextCompat.getColorStateList(getContext(), R.color.rs_input_icon_error));
-                til.setEndIconVisible(true);
-                break;
-
-            case STATE_SUCCESS:
-                til.setBoxStrokeColor(ContextCompat.getColor(getContext(), R.color.rs_input_stroke_success));
-                til.setHintTextColor(ContextCompat.getColorStateList(getContext(), R.color.rs_input_label_default));
-                til.setBoxBackgroundColor(ContextCompat.getColor(getContext(), R.color.rs_input_bg));
-                til.setEndIconDrawable(rsDrawable(R.drawable.rs_ic_success));
-                til.setEndIconTintList(ContextCompat.getColorStateList(getContext(), R.color.rs_input_icon_success));
-                til.setEndIconVisible(true);
-                break;
-
-            case STATE_DEFAULT:
-            default:
-                til.setBoxStrokeColor(ContextCompat.getColor(getContext(), R.color.rs_input_stroke_default));
-                til.setHintTextColor(ContextCompat.getColorStateList(getContext(), R.color.rs_input_label_default));
-                til.setBoxBackgroundColor(ContextCompat.getColor(getContext(), R.color.rs_input_bg));
-                til.setEndIconVisible(false);
-                break;
+        // RSUiKit.batch içinde: bir sonraki frame'de, son state ile bir kez uygulanır
+        if (RSUiKit.isBatching()) {
+            if (!applyDeferred) {
+                applyDeferred = true;
+                RSUiKit.defer(deferredApply);
+            }
+            return;
         }
+        long t = RSUiKitMetrics.begin();
+        engine.apply(st);
+        RSUiKitMetrics.endState(RSUiKitMetrics.COMPONENT_EDIT_TEXT, st, t);
+    }
+
+    /**
+     * Number of TextInputLayout property writes done by state changes.
+     * Re-applying the current state does not increase it.
+     */
+    int getStateWriteCount() {
+        return engine.getWriteCount();
     }
 
-    private Drawable rsDrawable(int resId) {
-        return ContextCompat.getDrawable(getContext(), resId);
+    /**
+     * Creates an RSEditText without inflating rs_edit_text.xml.
+     */
+    public static class Builder {
+
+        private final Context context;
+        private String label;
+        private String hint;
+        private int state = STATE_DEFAULT;
+        private String mask;
+
+        public Builder(Context context) {
+            this.context = context;
+        }
+
+        public Builder setLabel(String label) {
+            this.label = label;
+            return this;
+        }
+
+        public Builder setHint(String hint) {
+            this.hint = hint;
+            return this;
+        }
+
+        public Builder setState(int state) {
+            this.state = state;
+            return this;
+        }
+
+        public Builder setMask(String mask) {
+            this.mask = mask;
+            return this;
+        }
+
+        public RSEditText build() {
+            return new RSEditText(this);
+        }
     }
 }
@@ -0,0 +1,307 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.Configuration;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.accessibility.AccessibilityNodeInfo;
+import android.widget.Button;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * RealSolutions UI Kit - Flat Button
+ *
+ * Lightweight RSButton for recycled lists: a plain View that draws the
+ * TYPE_* background and a single text line itself, without the
+ * MaterialButton / TextView machinery (shape model, ripple, insets,
+ * editor, spans, text watchers).
+ *
+ * Usage (XML):
+ *  <com.realsolutions.uikit.RSFlatButton
+ *      android:layout_width="match_parent"
+ *      android:layout_height="wrap_content"
+ *      android:text="Kaydet"
+ *      app:rsType="primary" />
+ *
+ * Usage (Java):
+ *  RSFlatButton b = new RSFlatButton(context);
+ *  b.setText("Kaydet");
+ *  b.applyType(RSFlatButton.TYPE_SECONDARY);
+ *  b.setOnClickListener(v -> save());
+ *
+ * Notes:
+ * - Same TYPE_* values and applyType() / getType() as RSButton
+ * - Background: the RSButtonStyleCache gradient selector (default / pressed /
+ *   disabled), shared ConstantState, state switched with the view's drawable state
+ * - Text: one line, centered, ellipsized; the Layout is built once per
+ *   text / width and reused on every draw
+ * - Changing the type or pressed state only invalidates, never relayouts
+ * - Default padding 16dp horizontal / 12dp vertical, per side: XML padding
+ *   on one side keeps the defaults on the others
+ */
+public class RSFlatButton extends View {
+
+    public static final int TYPE_PRIMARY = RSButton.TYPE_PRIMARY;
+    public static final int TYPE_SECONDARY = RSButton.TYPE_SECONDARY;
+    public static final int TYPE_NEUTRAL = RSButton.TYPE_NEUTRAL;
+    public static final int TYPE_PLAIN_DARK = RSButton.TYPE_PLAIN_DARK;
+    public static final int TYPE_PLAIN_LIGHT = RSButton.TYPE_PLAIN_LIGHT;
+
+    private static final float DEFAULT_TEXT_SIZE_SP = 14f;
+
+    private int type = TYPE_PRIMARY;
+
+    @Nullable
+    private Drawable background;
+    private ColorStateList textColors;
+
+    private final TextPaint textPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint.FontMetricsInt fm = new Paint.FontMetricsInt();
+    private CharSequence text = "";
+
+    // cache: desired width per text, layout per text + width
+    private float desiredWidth = -1f;
+    @Nullable
+    private Layout layout;
+    private int layoutWidth = -1;
+
+    public RSFlatButton(Context context) {
+        super(context);
+        init(null);
+    }
+
+    public RSFlatButton(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+        init(attrs);
+    }
+
+    public RSFlatButton(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init(attrs);
+    }
+
+    private void init(@Nullable AttributeSet attrs) {
+        long t = RSUiKitMetrics.begin();
+
+        setClickable(true);
+        setFocusable(true);
+        setMinimumHeight(dp(48));
+
+        textPaint.setTypeface(Typeface.create("sans-serif-medium", Typeface.NORMAL));
+        float textSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP,
+                DEFAULT_TEXT_SIZE_SP, getResources().getDisplayMetrics());
+
+        // XML'de verilmeyen her kenar ayrı ayrı varsayılan padding alır
+        boolean start = false, top = false, end = false, bottom = false;
+        if (attrs != null) {
+            TypedArray a = getContext().obtainStyledAttributes(attrs, R.styleable.RSFlatButton);
+            type = a.getInt(R.styleable.RSFlatButton_rsType, TYPE_PRIMARY);
+            CharSequence xmlText = a.getText(R.styleable.RSFlatButton_android_text);
+            if (xmlText != null) text = xmlText;
+            textSize = a.getDimension(R.styleable.RSFlatButton_android_textSize, textSize);
+
+            boolean all = a.hasValue(R.styleable.RSFlatButton_android_padding);
+            boolean horizontal = all || a.hasValue(R.styleable.RSFlatButton_android_paddingHorizontal);
+            boolean vertical = all || a.hasValue(R.styleable.RSFlatButton_android_paddingVertical);
+            start = horizontal || a.hasValue(R.styleable.RSFlatButton_android_paddingLeft)
+                    || a.hasValue(R.styleable.RSFlatButton_android_paddingStart);
+            end = horizontal || a.hasValue(R.styleable.RSFlatButton_android_paddingRight)
+                    || a.hasValue(R.styleable.RSFlatButton_android_paddingEnd);
+            top = vertical || a.hasValue(R.styleable.RSFlatButton_android_paddingTop);
+            bottom = vertical || a.hasValue(R.styleable.RSFlatButton_android_paddingBottom);
+            a.recycle();
+        }
+        textPaint.setTextSize(textSize);
+        setPaddingRelative(start ? getPaddingStart() : dp(16), top ? getPaddingTop() : dp(12),
+                end ? getPaddingEnd() : dp(16), bottom ? getPaddingBottom() : dp(12));
+
+        applyType(type);
+        RSUiKitMetrics.endInit(RSUiKitMetrics.COMPONENT_BUTTON, t);
+    }
+
+    /**
+     * Apply style type programmatically (same values as RSButton).
+     * Only the background and text color change, so no layout pass.
+     */
+    public void applyType(int type) {
+        if (type == this.type && background != null && RSButtonStyleCache.isCurrent(getContext())) {
+            return;
+        }
+        this.type = type;
+        long t = RSUiKitMetrics.begin();
+
+        if (background != null) background.setCallback(null);
+        Drawable bg = RSButtonStyleCache.newBackground(getContext(), type);
+        bg.setCallback(this);
+        bg.setState(getDrawableState());
+        bg.setBounds(0, 0, getWidth(), getHeight());
+        background = bg;
+
+        textColors = RSButtonStyleCache.textColor(getContext(), type);
+        updateTextColor();
+
+        invalidate();
+        RSUiKitMetrics.endState(RSUiKitMetrics.COMPONENT_BUTTON, type, t);
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public void setText(@Nullable CharSequence text) {
+        if (text == null) text = "";
+        if (TextUtils.equals(this.text, text)) return;
+        this.text = text;
+        desiredWidth = -1f;
+        layout = null;
+        // sabit genişlikte (match_parent / dp) ölçü değişmez: sadece yeniden çiz
+        ViewGroup.LayoutParams lp = getLayoutParams();
+        if (lp == null || lp.width == ViewGroup.LayoutParams.WRAP_CONTENT) requestLayout();
+        invalidate();
+    }
+
+    @NonNull
+    public CharSequence getText() {
+        return text;
+    }
+
+    /**
+     * Text size in sp.
+     */
+    public void setTextSize(float sp) {
+        float px = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, sp, getResources().getDisplayMetrics());
+        if (px == textPaint.getTextSize()) return;
+        textPaint.setTextSize(px);
+        desiredWidth = -1f;
+        layout = null;
+        requestLayout();
+        invalidate();
+    }
+
+    public float getTextSize() {
+        return textPaint.getTextSize();
+    }
+
+    /**
+     * Text color for the current state (like TextView.getCurrentTextColor()).
+     */
+    public int getCurrentTextColor() {
+        return textPaint.getColor();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (desiredWidth < 0) desiredWidth = Layout.getDesiredWidth(text, textPaint);
+        textPaint.getFontMetricsInt(fm);
+
+        int w = getPaddingLeft() + (int) Math.ceil(desiredWidth) + getPaddingRight();
+        int h = getPaddingTop() + (fm.descent - fm.ascent) + getPaddingBottom();
+        w = Math.max(w, getSuggestedMinimumWidth());
+        h = Math.max(h, getSuggestedMinimumHeight());
+
+        setMeasuredDimension(resolveSize(w, widthMeasureSpec), resolveSize(h, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        if (background != null) background.setBounds(0, 0, w, h);
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (background != null) background.draw(canvas);
+        if (text.length() == 0) return;
+
+        int avail = Math.max(0, getWidth() - getPaddingLeft() - getPaddingRight());
+        if (layout == null || layoutWidth != avail) {
+            layout = StaticLayout.Builder.obtain(text, 0, text.length(), textPaint, avail)
+                    .setAlignment(Layout.Alignment.ALIGN_CENTER)
+                    .setIncludePad(false)
+                    .setMaxLines(1)
+                    .setEllipsize(TextUtils.TruncateAt.END)
+                    .build();
+            layoutWidth = avail;
+        }
+
+        int saveCount = canvas.save();
+        canvas.translate(getPaddingLeft(), (getHeight() - layout.getHeight()) / 2f);
+        layout.draw(canvas);
+        canvas.restoreToCount(saveCount);
+    }
+
+    @Override
+    protected void drawableStateChanged() {
+        super.drawableStateChanged();
+        boolean changed = background != null && background.isStateful()
+                && background.setState(getDrawableState());
+        changed |= updateTextColor();
+        if (changed) invalidate();
+    }
+
+    private boolean updateTextColor() {
+        // super constructor / setClickable can get here before applyType()
+        if (textColors == null) return false;
+        int color = textColors.getColorForState(getDrawableState(), textColors.getDefaultColor());
+        if (color == textPaint.getColor()) return false;
+        textPaint.setColor(color);
+        return true;
+    }
+
+    @Override
+    protected boolean verifyDrawable(@NonNull Drawable who) {
+        return who == background || super.verifyDrawable(who);
+    }
+
+    @Override
+    public void jumpDrawablesToCurrentState() {
+        super.jumpDrawablesToCurrentState();
+        if (background != null) background.jumpToCurrentState();
+    }
+
+    @Override
+    protected void onConfigurationChanged(Configuration newConfig) {
+        super.onConfigurationChanged(newConfig);
+        // light <-> night: background / text color are re-resolved for the new config
+        if (background != null) background.setCallback(null);
+        background = null;
+        applyType(type);
+    }
+
+    @Override
+    public CharSequence getAccessibilityClassName() {
+        return Button.class.getName();
+    }
+
+    @Override
+    public void onInitializeAccessibilityNodeInfo(AccessibilityNodeInfo info) {
+        super.onInitializeAccessibilityNodeInfo(info);
+        info.setText(text);
+    }
+
+    /**
+     * Text layout drawn last, null before the first draw or after a text change.
+     */
+    @Nullable
+    Layout getTextLayout() {
+        return layout;
+    }
+
+    private int dp(int v) {
+        return (int) (v * getResources().getDisplayMetrics().density);
+    }
+}
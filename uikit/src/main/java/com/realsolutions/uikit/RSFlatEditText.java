@@ -0,0 +1,363 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.Configuration;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+import android.text.TextPaint;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.accessibility.AccessibilityNodeInfo;
+
+import androidx.annotation.Nullable;
+import androidx.appcompat.widget.AppCompatEditText;
+import androidx.core.content.ContextCompat;
+
+/**
+ * RealSolutions UI Kit - Flat Edit Text
+ *
+ * Single-view variant of RSEditText. The EditText itself draws the box,
+ * stroke, floating label, placeholder and error / success end icon, instead
+ * of the FrameLayout -> TextInputLayout -> inner frames -> TextInputEditText
+ * hierarchy. One view, one measure per layout pass.
+ *
+ * Usage (XML):
+ *
+ * <com.realsolutions.uikit.RSFlatEditText
+ *     android:layout_width="match_parent"
+ *     android:layout_height="wrap_content"
+ *     app:rsLabel="Sicil No"
+ *     app:rsHint="Sicil numaranızı girin"
+ *     app:rsState="normal" />
+ *
+ * Usage (Java):
+ *
+ * RSFlatEditText input = new RSFlatEditText(context);
+ * input.setLabel("Sicil No");
+ * input.setHint("Sicil numaranızı girin");
+ * input.setErrorState(null);
+ * input.clearStatus();
+ *
+ * Notes:
+ * - Same STATE_* values and state methods as RSEditText, colors and icons
+ *   from the shared RSInputPalette
+ * - Uses the RSEditText styleable (rsLabel, rsHint, rsState, rsMask)
+ * - State changes only invalidate; the end icon space is always reserved,
+ *   so showing / hiding the icon never relayouts
+ * - The label moves between its two positions without animation
+ * - Like RSEditText, no error text is shown under the input
+ * - RTL aware: label, placeholder and end icon follow the layout direction
+ * - The placeholder is the TextView hint (rsHint, android:hint or any
+ *   setHint overload), drawn here; the native hint is painted transparent,
+ *   so setHintTextColor has no effect
+ * - Accessibility: label and placeholder are reported as the node's hint text
+ */
+public class RSFlatEditText extends AppCompatEditText {
+
+    public static final int STATE_DEFAULT = RSEditText.STATE_DEFAULT;
+    public static final int STATE_FOCUSED = RSEditText.STATE_FOCUSED;
+    public static final int STATE_ERROR = RSEditText.STATE_ERROR;
+    public static final int STATE_SUCCESS = RSEditText.STATE_SUCCESS;
+
+    private int state = STATE_DEFAULT;
+
+    @Nullable
+    private String label;
+    @Nullable
+    private RSInputMask.Formatter maskFormatter;
+
+    private RSInputPalette palette;
+
+    // metrics (px)
+    private float radius;
+    private float strokeWidth;
+    private int iconSize;
+    private int iconGap;
+    private float labelCollapsedBaseline;
+
+    // resolved for the current state
+    private int boxColor;
+    private int strokeColor;
+    private boolean stroked;
+    private ColorStateList labelColors;
+    @Nullable
+    private Drawable endIcon;
+    @Nullable
+    private Drawable errorIcon;
+    @Nullable
+    private Drawable successIcon;
+
+    private final Paint boxPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint strokePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint labelPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint placeholderPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final RectF box = new RectF();
+    private final Rect iconBounds = new Rect();
+
+    private float labelCollapsedSize;
+    private float labelExpandedSize;
+
+    public RSFlatEditText(Context context) {
+        super(context);
+        init(null);
+    }
+
+    public RSFlatEditText(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+        init(attrs);
+    }
+
+    public RSFlatEditText(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init(attrs);
+    }
+
+    private void init(@Nullable AttributeSet attrs) {
+        long t = RSUiKitMetrics.begin();
+
+        // rs_edit_text.xml ile aynı ölçüler
+        radius = getResources().getDimension(R.dimen.rs_input_radius);
+        strokeWidth = getResources().getDimension(R.dimen.rs_input_stroke);
+        iconSize = dp(24);
+        iconGap = dp(12);
+        labelCollapsedBaseline = dp(16);
+
+        setBackground(null);
+        setSingleLine(true);
+        setMinHeight(dp(60));
+        setTextSize(TypedValue.COMPLEX_UNIT_PX, getResources().getDimension(R.dimen.rs_input_text_size));
+        setTextColor(ContextCompat.getColor(getContext(), R.color.rs_input_text));
+        // end icon alanı hep ayrılır: ikon gösterip gizlemek relayout yapmaz
+        setPaddingRelative(dp(16), dp(22), dp(16) + iconSize + iconGap, dp(14));
+
+        labelCollapsedSize = getResources().getDimension(R.dimen.rs_input_label_size);
+        labelExpandedSize = getTextSize();
+        labelPaint.setTypeface(getTypeface());
+        placeholderPaint.setTypeface(getTypeface());
+        placeholderPaint.setTextSize(getTextSize());
+        placeholderPaint.setColor(ContextCompat.getColor(getContext(), R.color.rs_input_hint));
+        // android:hint / setHint(CharSequence) dahil: hint'i biz çizeriz, native hint görünmez
+        setHintTextColor(Color.TRANSPARENT);
+        strokePaint.setStyle(Paint.Style.STROKE);
+        strokePaint.setStrokeWidth(strokeWidth);
+
+        if (attrs != null) {
+            TypedArray a = getContext().obtainStyledAttributes(attrs, R.styleable.RSEditText);
+            label = a.getString(R.styleable.RSEditText_rsLabel);
+            String hint = a.getString(R.styleable.RSEditText_rsHint);
+            state = a.getInt(R.styleable.RSEditText_rsState, STATE_DEFAULT);
+            String mask = a.getString(R.styleable.RSEditText_rsMask);
+            a.recycle();
+
+            if (hint != null) setHint(hint);
+            if (mask != null) setMask(mask);
+        }
+
+        palette = RSInputPalette.obtain(getContext());
+        applyState(state);
+        RSUiKitMetrics.endInit(RSUiKitMetrics.COMPONENT_EDIT_TEXT, t);
+    }
+
+    public void setLabel(@Nullable String label) {
+        this.label = label;
+        invalidate();
+    }
+
+    /**
+     * Placeholder shown inside the empty input while it is focused.
+     * Same as setHint(CharSequence), kept for parity with RSEditText.
+     */
+    public void setHint(@Nullable String hint) {
+        setHint((CharSequence) hint);
+    }
+
+    @Override
+    public void onInitializeAccessibilityNodeInfo(AccessibilityNodeInfo info) {
+        super.onInitializeAccessibilityNodeInfo(info);
+        // label sadece çiziliyor: TalkBack için hint text'e eklenir
+        CharSequence hint = getHint();
+        if (label == null) {
+            info.setHintText(hint);
+        } else if (hint == null || hint.length() == 0) {
+            info.setHintText(label);
+        } else {
+            info.setHintText(label + ", " + hint);
+        }
+    }
+
+    /**
+     * Formats input while typing, in place (see RSInputMask). null removes the mask.
+     */
+    public void setMask(@Nullable String pattern) {
+        if (maskFormatter != null) maskFormatter.release();
+        maskFormatter = pattern == null ? null : new RSInputMask.Formatter(RSInputMask.compile(pattern), this);
+    }
+
+    public void setState(int newState) {
+        this.state = newState;
+        applyState(newState);
+    }
+
+    public int getState() {
+        return state;
+    }
+
+    /**
+     * Red border + error icon. The message is not shown (same as RSEditText).
+     */
+    public void setErrorState(@Nullable String messageOrNull) {
+        setState(STATE_ERROR);
+    }
+
+    public void setSuccessState() {
+        setState(STATE_SUCCESS);
+    }
+
+    public void clearStatus() {
+        setState(STATE_DEFAULT);
+    }
+
+    @Override
+    protected void onFocusChanged(boolean focused, int direction, @Nullable Rect previouslyFocusedRect) {
+        super.onFocusChanged(focused, direction, previouslyFocusedRect);
+        if (state != STATE_ERROR && state != STATE_SUCCESS) {
+            setState(focused ? STATE_FOCUSED : STATE_DEFAULT);
+        }
+    }
+
+    @Override
+    protected void onConfigurationChanged(Configuration newConfig) {
+        super.onConfigurationChanged(newConfig);
+        // light <-> night: palette is re-resolved once and shared by all inputs
+        RSInputPalette p = RSInputPalette.obtain(getContext());
+        if (p != palette) {
+            palette = p;
+            errorIcon = null;
+            successIcon = null;
+        }
+        setTextColor(ContextCompat.getColor(getContext(), R.color.rs_input_text));
+        placeholderPaint.setColor(ContextCompat.getColor(getContext(), R.color.rs_input_hint));
+        applyState(state);
+    }
+
+    private void applyState(int st) {
+        long t = RSUiKitMetrics.begin();
+        RSInputPalette p = palette;
+
+        int newBox = p.bg;
+        int newStroke;
+        ColorStateList newLabel = p.labelDefault;
+        Drawable newIcon = null;
+        switch (st) {
+            case STATE_FOCUSED:
+                newBox = p.bgFocused;
+                newStroke = p.strokeFocused;
+                newLabel = p.labelFocused;
+                break;
+            case STATE_ERROR:
+                newStroke = p.strokeError;
+                newLabel = p.labelError;
+                if (errorIcon == null) errorIcon = icon(p.newErrorIcon(getResources()), p.iconError);
+                newIcon = errorIcon;
+                break;
+            case STATE_SUCCESS:
+                newStroke = p.strokeSuccess;
+                if (successIcon == null) successIcon = icon(p.newSuccessIcon(getResources()), p.iconSuccess);
+                newIcon = successIcon;
+                break;
+            case STATE_DEFAULT:
+            default:
+                newStroke = p.strokeDefault;
+                break;
+        }
+        // normal: çerçeve yok (rs_edit_text.xml boxStrokeWidth = 0)
+        boolean newStroked = st != STATE_DEFAULT;
+
+        if (newBox != boxColor || newStroke != strokeColor || newStroked != stroked
+                || newLabel != labelColors || newIcon != endIcon) {
+            boxColor = newBox;
+            strokeColor = newStroke;
+            stroked = newStroked;
+            labelColors = newLabel;
+            endIcon = newIcon;
+            invalidate();
+        }
+        RSUiKitMetrics.endState(RSUiKitMetrics.COMPONENT_EDIT_TEXT, st, t);
+    }
+
+    private Drawable icon(Drawable d, ColorStateList tint) {
+        d = d.mutate();
+        d.setTintList(tint);
+        return d;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        // TextView çizimi scroll kadar kaydırılmış canvas'a yapılır; dekorasyon sabit kalsın
+        final int sx = getScrollX();
+        final int sy = getScrollY();
+        final int w = getWidth();
+        final int h = getHeight();
+
+        float inset = stroked ? strokeWidth / 2f : 0f;
+        box.set(sx + inset, sy + inset, sx + w - inset, sy + h - inset);
+        boxPaint.setColor(boxColor);
+        canvas.drawRoundRect(box, radius, radius, boxPaint);
+        if (stroked) {
+            strokePaint.setColor(strokeColor);
+            canvas.drawRoundRect(box, radius, radius, strokePaint);
+        }
+
+        boolean empty = length() == 0;
+        boolean focused = hasFocus();
+        // RTL: label / placeholder sağdan hizalanır, ikon sol (end) tarafa geçer
+        boolean rtl = getLayoutDirection() == LAYOUT_DIRECTION_RTL;
+        Paint.Align align = rtl ? Paint.Align.RIGHT : Paint.Align.LEFT;
+        labelPaint.setTextAlign(align);
+        placeholderPaint.setTextAlign(align);
+        int textX = rtl ? sx + w - getCompoundPaddingStart() : sx + getCompoundPaddingStart();
+        int textBaseline = getBaseline();
+
+        if (label != null) {
+            boolean collapsed = focused || !empty;
+            labelPaint.setTextSize(collapsed ? labelCollapsedSize : labelExpandedSize);
+            labelPaint.setColor(labelColors.getColorForState(getDrawableState(), labelColors.getDefaultColor()));
+            canvas.drawText(label, textX, collapsed ? sy + labelCollapsedBaseline : sy + textBaseline, labelPaint);
+        }
+        CharSequence placeholder = getHint();
+        if (empty && placeholder != null && (focused || label == null)) {
+            canvas.drawText(placeholder, 0, placeholder.length(), textX, sy + textBaseline, placeholderPaint);
+        }
+
+        if (endIcon != null) {
+            // ikon, end padding içinde ayrılan alanın başında (metne iconGap uzaklıkta)
+            int left = rtl
+                    ? sx + getCompoundPaddingEnd() - iconGap - iconSize
+                    : sx + w - getCompoundPaddingEnd() + iconGap;
+            int top = sy + (h - iconSize) / 2;
+            iconBounds.set(left, top, left + iconSize, top + iconSize);
+            endIcon.setBounds(iconBounds);
+            endIcon.draw(canvas);
+        }
+
+        super.onDraw(canvas);
+    }
+
+    /**
+     * End icon for the current state (bounds as of the last draw), null in default / focused.
+     */
+    @Nullable
+    Drawable getEndIcon() {
+        return endIcon;
+    }
+
+    private int dp(int v) {
+        return (int) (v * getResources().getDisplayMetrics().density);
+    }
+}
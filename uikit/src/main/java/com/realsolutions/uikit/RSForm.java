@@ -0,0 +1,314 @@
+package com.realsolutions.uikit;
+
+import android.text.Editable;
+import android.text.TextUtils;
+import android.text.TextWatcher;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.google.android.material.textfield.TextInputEditText;
+
+import java.util.Arrays;
+
+/**
+ * RealSolutions UI Kit - Form
+ *
+ * Schema-driven form rendered through a RecyclerView. Field values and
+ * states live in flat arrays (one slot per field), so only the visible
+ * fields exist as views; hundreds of fields cost a few array entries each.
+ *
+ * Usage (Java):
+ *
+ * RSForm.Schema schema = new RSForm.Schema()
+ *         .text("Sicil No", "Sicil numaranızı girin")
+ *         .password("Parola", "Parolanızı girin")
+ *         .checkBox("Beni hatırla", RSCheckBox.STATUS_UNCHECKED);
+ *
+ * RSForm form = new RSForm(schema);
+ * form.attach(recyclerView);
+ *
+ * form.setState(0, RSEditText.STATE_ERROR);   // also for fields not on screen
+ * String sicil = form.getValue(0);
+ *
+ * Notes:
+ * - Field index = order in the schema
+ * - Input fields keep RSEditText.STATE_* (focus is view-only, not stored);
+ *   checkbox fields keep RSCheckBox.STATUS_*
+ * - Views are created with the components' builders (no XML inflation)
+ * - Main thread only
+ */
+public class RSForm {
+
+    public static final int FIELD_TEXT = 0;
+    public static final int FIELD_PASSWORD = 1;
+    public static final int FIELD_CHECKBOX = 2;
+
+    public interface OnFieldChangeListener {
+
+        void onValueChanged(int field, @NonNull String value);
+
+        void onStateChanged(int field, int state);
+    }
+
+    /**
+     * Declarative field list. Each call appends one field.
+     */
+    public static final class Schema {
+
+        int size;
+        byte[] types = new byte[16];
+        String[] labels = new String[16];
+        String[] hints = new String[16];
+        int[] states = new int[16];
+
+        public Schema text(String label, String hint) {
+            return add(FIELD_TEXT, label, hint, RSEditText.STATE_DEFAULT);
+        }
+
+        public Schema password(String label, String hint) {
+            return add(FIELD_PASSWORD, label, hint, RSEditText.STATE_DEFAULT);
+        }
+
+        public Schema checkBox(String label, int status) {
+            return add(FIELD_CHECKBOX, label, null, status);
+        }
+
+        /**
+         * Initial state of the last added field.
+         */
+        public Schema state(int state) {
+            if (size == 0) throw new IllegalStateException("no field to set state on");
+            states[size - 1] = state;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        private Schema add(int type, String label, String hint, int state) {
+            if (size == types.length) {
+                int n = size * 2;
+                types = Arrays.copyOf(types, n);
+                labels = Arrays.copyOf(labels, n);
+                hints = Arrays.copyOf(hints, n);
+                states = Arrays.copyOf(states, n);
+            }
+            types[size] = (byte) type;
+            labels[size] = label;
+            hints[size] = hint;
+            states[size] = state;
+            size++;
+            return this;
+        }
+    }
+
+    // model (schema arrays are shared, values / states are per form)
+    private final int size;
+    private final byte[] types;
+    private final String[] labels;
+    private final String[] hints;
+    private final int[] states;
+    private final String[] values;
+
+    private final Adapter adapter = new Adapter();
+
+    @Nullable
+    private OnFieldChangeListener listener;
+
+    public RSForm(@NonNull Schema schema) {
+        size = schema.size;
+        types = schema.types;
+        labels = schema.labels;
+        hints = schema.hints;
+        states = Arrays.copyOf(schema.states, size);
+        values = new String[size];
+    }
+
+    public void attach(@NonNull RecyclerView recyclerView) {
+        if (recyclerView.getLayoutManager() == null) {
+            recyclerView.setLayoutManager(new LinearLayoutManager(recyclerView.getContext()));
+        }
+        // ekran dışı tutulan view sayısını küçük tut: bellek sabit kalsın
+        recyclerView.setItemViewCacheSize(4);
+        recyclerView.setAdapter(adapter);
+    }
+
+    public RecyclerView.Adapter<?> getAdapter() {
+        return adapter;
+    }
+
+    public void setOnFieldChangeListener(@Nullable OnFieldChangeListener listener) {
+        this.listener = listener;
+    }
+
+    public int getFieldCount() {
+        return size;
+    }
+
+    public int getFieldType(int field) {
+        return types[field];
+    }
+
+    @NonNull
+    public String getValue(int field) {
+        String v = values[field];
+        return v == null ? "" : v;
+    }
+
+    public void setValue(int field, @Nullable String value) {
+        if (TextUtils.equals(getValue(field), value == null ? "" : value)) return;
+        values[field] = value;
+        adapter.notifyItemChanged(field);
+    }
+
+    public int getState(int field) {
+        return states[field];
+    }
+
+    public void setState(int field, int state) {
+        if (states[field] == state) return;
+        states[field] = state;
+        adapter.notifyItemChanged(field);
+    }
+
+    // ------------------------------------------------------------------
+
+    private void onUserValue(int field, String value) {
+        values[field] = value;
+        if (listener != null) listener.onValueChanged(field, value);
+    }
+
+    private void onUserState(int field, int state) {
+        if (states[field] == state) return;
+        states[field] = state;
+        if (listener != null) listener.onStateChanged(field, state);
+    }
+
+    private final class Adapter extends RecyclerView.Adapter<Holder> {
+
+        @Override
+        public int getItemCount() {
+            return size;
+        }
+
+        @Override
+        public int getItemViewType(int position) {
+            return types[position];
+        }
+
+        @NonNull
+        @Override
+        public Holder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            View v;
+            switch (viewType) {
+                case FIELD_PASSWORD:
+                    v = new RSPasswordInput.Builder(parent.getContext()).build();
+                    break;
+                case FIELD_CHECKBOX:
+                    v = new RSCheckBox(parent.getContext());
+                    break;
+                default:
+                    v = new RSEditText.Builder(parent.getContext()).build();
+                    break;
+            }
+            RecyclerView.LayoutParams lp = new RecyclerView.LayoutParams(
+                    viewType == FIELD_CHECKBOX ? ViewGroup.LayoutParams.WRAP_CONTENT : ViewGroup.LayoutParams.MATCH_PARENT,
+                    ViewGroup.LayoutParams.WRAP_CONTENT);
+            lp.bottomMargin = (int) (12 * parent.getResources().getDisplayMetrics().density + 0.5f);
+            v.setLayoutParams(lp);
+            return new Holder(v, viewType);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull Holder h, int position) {
+            h.bind(position);
+        }
+    }
+
+    private final class Holder extends RecyclerView.ViewHolder implements TextWatcher, View.OnClickListener {
+
+        private final int type;
+        @Nullable
+        private final TextInputEditText editText;
+        private boolean binding;
+
+        Holder(View v, int type) {
+            super(v);
+            this.type = type;
+
+            if (type == FIELD_CHECKBOX) {
+                editText = null;
+                v.setOnClickListener(this);
+            } else {
+                editText = type == FIELD_PASSWORD
+                        ? ((RSPasswordInput) v).getEditText()
+                        : ((RSEditText) v).getEditText();
+                editText.addTextChangedListener(this);
+            }
+        }
+
+        void bind(int field) {
+            binding = true;
+            switch (type) {
+                case FIELD_CHECKBOX: {
+                    RSCheckBox cb = (RSCheckBox) itemView;
+                    cb.setText(labels[field]);
+                    cb.setStatus(states[field]);
+                    break;
+                }
+                case FIELD_PASSWORD: {
+                    RSPasswordInput p = (RSPasswordInput) itemView;
+                    p.setLabel(labels[field]);
+                    p.setHint(hints[field]);
+                    bindText(field);
+                    p.setState(states[field]);
+                    break;
+                }
+                default: {
+                    RSEditText e = (RSEditText) itemView;
+                    e.setLabel(labels[field]);
+                    e.setHint(hints[field]);
+                    bindText(field);
+                    e.setState(states[field]);
+                    break;
+                }
+            }
+            binding = false;
+        }
+
+        private void bindText(int field) {
+            String value = getValue(field);
+            // aynı metni tekrar set etme: cursor / IME durumu korunur
+            if (!TextUtils.equals(editText.getText(), value)) editText.setText(value);
+        }
+
+        @Override
+        public void onClick(View v) {
+            int field = getBindingAdapterPosition();
+            if (field == RecyclerView.NO_POSITION) return;
+            onUserState(field, ((RSCheckBox) itemView).getStatus());
+        }
+
+        @Override
+        public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+        }
+
+        @Override
+        public void onTextChanged(CharSequence s, int start, int before, int count) {
+        }
+
+        @Override
+        public void afterTextChanged(Editable s) {
+            if (binding) return;
+            int field = getBindingAdapterPosition();
+            if (field == RecyclerView.NO_POSITION) return;
+            onUserValue(field, s.toString());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.realsolutions.uikit;
+
+import android.animation.ValueAnimator;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.PowerManager;
+import android.view.Choreographer;
+
+import androidx.core.content.ContextCompat;
+
+import java.util.ArrayList;
+
+/**
+ * Single Choreographer frame callback shared by all running RSLoadingCircles.
+ *
+ * - One callback per frame no matter how many spinners are on screen
+ * - Rotation is derived from one shared clock, so circles with the same
+ *   speed are always in phase
+ * - Honors the system animator duration scale (slower when > 1)
+ * - Unregistered circles (hidden, paused, detached) cost nothing
+ * - One battery saver receiver, only while at least one circle is registered:
+ *   circles recompute their frame cap when battery saver is toggled
+ *
+ * Main thread only.
+ */
+final class RSFrameTicker implements Choreographer.FrameCallback {
+
+    private static RSFrameTicker instance;
+
+    private final ArrayList<RSLoadingCircle> circles = new ArrayList<>();
+    private final long epochNanos = System.nanoTime();
+    private boolean posted;
+
+    // battery saver: tek receiver, sadece kayıtlı circle varken
+    private final BroadcastReceiver powerSaveReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            for (int i = circles.size() - 1; i >= 0; i--) circles.get(i).updateFrameCap();
+        }
+    };
+    private Context receiverContext;
+
+    private RSFrameTicker() {
+    }
+
+    static RSFrameTicker get() {
+        if (instance == null) instance = new RSFrameTicker();
+        return instance;
+    }
+
+    void register(RSLoadingCircle circle) {
+        if (circles.contains(circle)) return;
+        circles.add(circle);
+        if (receiverContext == null) {
+            receiverContext = circle.getContext().getApplicationContext();
+            ContextCompat.registerReceiver(receiverContext, powerSaveReceiver,
+                    new IntentFilter(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED),
+                    ContextCompat.RECEIVER_NOT_EXPORTED);
+        }
+        if (!posted) {
+            posted = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    void unregister(RSLoadingCircle circle) {
+        circles.remove(circle);
+        if (!circles.isEmpty()) return;
+        if (posted) {
+            posted = false;
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+        if (receiverContext != null) {
+            receiverContext.unregisterReceiver(powerSaveReceiver);
+            receiverContext = null;
+        }
+    }
+
+    boolean isPowerSaveReceiverRegistered() {
+        return receiverContext != null;
+    }
+
+    boolean isRegistered(RSLoadingCircle circle) {
+        return circles.contains(circle);
+    }
+
+    /**
+     * Rotation (0..360) of a circle turning at speedDegPerSec at the given frame time.
+     */
+    float rotationAt(long frameTimeNanos, float speedDegPerSec) {
+        float scale = ValueAnimator.getDurationScale();
+        double seconds = (frameTimeNanos - epochNanos) / 1_000_000_000.0;
+        if (scale > 0f) seconds /= scale;
+        return (float) ((seconds * speedDegPerSec) % 360.0);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        // one rotation value per distinct speed (usually a single one)
+        float lastSpeed = Float.NaN;
+        float lastRotation = 0f;
+
+        // backwards: a circle may unregister itself from onFrame
+        for (int i = circles.size() - 1; i >= 0; i--) {
+            RSLoadingCircle c = circles.get(i);
+            float speed = c.getSpeed();
+            if (speed != lastSpeed) {
+                lastSpeed = speed;
+                lastRotation = rotationAt(frameTimeNanos, speed);
+            }
+            c.onFrame(frameTimeNanos, lastRotation);
+        }
+
+        if (circles.isEmpty()) {
+            posted = false;
+        } else {
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+}
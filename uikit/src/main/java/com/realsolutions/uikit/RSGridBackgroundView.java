@@ -2,10 +2,18 @@ package com.realsolutions.uikit;
 
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Shader;
 import android.util.AttributeSet;
+import android.view.GestureDetector;
+import android.view.MotionEvent;
+import android.view.ScaleGestureDetector;
 import android.view.View;
 
 public class RSGridBackgroundView extends View {
@@ -16,9 +24,62 @@ public class RSGridBackgroundView extends View {
     private float lineWidthPx = dpToPx(1f);
     private float contentPaddingPx = 0f;
     private boolean showOuterBorder = true;
+    private boolean pixelSnap = false;
 
     private Paint paint;
 
+    // Çizgi geometrisi: boyut / grid / padding değişince bir kez hesaplanır,
+    // tek drawLines çağrısıyla çizilir (x0, y0, x1, y1 ...)
+    private float[] lines = new float[0];
+    private int lineFloatCount;
+    private boolean geometryDirty = true;
+    private int geomW, geomH, geomPl, geomPt, geomPr, geomPb;
+
+    // Zoom / pan modu
+    // Grid sabit boyutlu hücrelerden oluşur (cellSizePx, zoom 1'de). Tek hücre deseni
+    // küçük bir bitmap'e çizilir ve BitmapShader (REPEAT) ile zoom matrix'i üzerinden
+    // görünen alana doldurulur: grid boyutundan bağımsız O(1) çizim.
+    // Zoom TILE_MAX_ZOOM'u geçince tile çizgileri kalınlaşıp bulanıklaşır; o noktada
+    // sadece görünen alandaki çizgiler vektör olarak çizilir.
+    private static final float TILE_MAX_ZOOM = 1.5f;
+
+    private boolean zoomEnabled = false;
+    private float cellSizePx = dpToPx(24f);
+    private float zoom = 1f;
+    private float minZoom = 0.05f;
+    private float maxZoom = 20f;
+    private float panX, panY;
+
+    private Bitmap tile;
+    private BitmapShader tileShader;
+    private Paint tilePaint;
+    private boolean tileDirty = true;
+    private float[] viewportLines = new float[0];
+
+    private ScaleGestureDetector scaleDetector;
+    private GestureDetector gestureDetector;
+
+    // Hücre katmanı (heatmap)
+    // Renkler CELL_TILE x CELL_TILE hücrelik bloklarda tutulur (blok içinde satır-öncelikli),
+    // hiç boyanmamış blok için ne dizi ne bitmap ayrılır. Her blok hücre başına 1 piksellik
+    // küçük bir bitmap'e yüklenir; çizimde sadece görünen bloklar yüklenir ve filtre kapalı
+    // drawBitmap ile hücre boyutuna büyütülür (tek dev bitmap / "too large bitmap" yok).
+    static final int CELL_TILE = 64;
+
+    /**
+     * Largest grid (rows * columns) the cell layer accepts: at most 16 MB of
+     * colors plus 16 MB of tile bitmaps when every cell is painted.
+     */
+    public static final int MAX_CELL_LAYER_CELLS = 2048 * 2048;
+
+    private int[][] cellTiles;          // null -> katman yok
+    private Bitmap[] cellTileBitmaps;
+    private boolean[] cellTileDirty;
+    private int cellTilesX;
+    private Paint cellPaint;
+    private final Rect cellSrc = new Rect();
+    private final RectF cellDst = new RectF();
+
     public RSGridBackgroundView(Context context) {
         super(context);
         init(null);
@@ -35,6 +96,7 @@ public class RSGridBackgroundView extends View {
     }
 
     private void init(AttributeSet attrs) {
+        long t = RSUiKitMetrics.begin();
         paint = new Paint(Paint.ANTI_ALIAS_FLAG);
         paint.setStyle(Paint.Style.STROKE);
         paint.setStrokeWidth(lineWidthPx);
@@ -48,71 +110,611 @@ public class RSGridBackgroundView extends View {
             lineWidthPx = ta.getDimension(R.styleable.GridBackgroundView_gridLineWidth, lineWidthPx);
             contentPaddingPx = ta.getDimension(R.styleable.GridBackgroundView_gridPadding, contentPaddingPx);
             showOuterBorder = ta.getBoolean(R.styleable.GridBackgroundView_gridShowOuterBorder, showOuterBorder);
+            pixelSnap = ta.getBoolean(R.styleable.GridBackgroundView_gridPixelSnap, pixelSnap);
+            zoomEnabled = ta.getBoolean(R.styleable.GridBackgroundView_gridZoomEnabled, zoomEnabled);
+            cellSizePx = ta.getDimension(R.styleable.GridBackgroundView_gridCellSize, cellSizePx);
             ta.recycle();
 
             paint.setColor(lineColor);
+        }
+        applyStroke();
+        RSUiKitMetrics.endInit(RSUiKitMetrics.COMPONENT_GRID, t);
+    }
+
+    private void applyStroke() {
+        if (pixelSnap) {
+            // eksene paralel çizgiler için AA gereksiz: tam piksele oturt
+            paint.setAntiAlias(false);
+            paint.setStrokeWidth(Math.max(1, Math.round(lineWidthPx)));
+        } else {
+            paint.setAntiAlias(true);
             paint.setStrokeWidth(lineWidthPx);
         }
+        geometryDirty = true;
+        tileDirty = true;
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
+        long t = RSUiKitMetrics.begin();
+        drawGrid(canvas);
+        RSUiKitMetrics.endDraw(RSUiKitMetrics.COMPONENT_GRID, t);
+        RSUiKitMetrics.countFrame(RSUiKitMetrics.COMPONENT_GRID);
+    }
 
-        float left = getPaddingLeft() + contentPaddingPx;
-        float top = getPaddingTop() + contentPaddingPx;
-        float right = getWidth() - getPaddingRight() - contentPaddingPx;
-        float bottom = getHeight() - getPaddingBottom() - contentPaddingPx;
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        RSUiKitMetrics.countInvalidate(RSUiKitMetrics.COMPONENT_GRID);
+    }
+
+    private void drawGrid(Canvas canvas) {
+        if (cellTiles != null) drawCells(canvas);
+
+        if (zoomEnabled) {
+            drawZoomed(canvas);
+            return;
+        }
+
+        if (geometryDirty
+                || geomW != getWidth() || geomH != getHeight()
+                || geomPl != getPaddingLeft() || geomPt != getPaddingTop()
+                || geomPr != getPaddingRight() || geomPb != getPaddingBottom()) {
+            computeLines();
+        }
+
+        if (lineFloatCount > 0) {
+            canvas.drawLines(lines, 0, lineFloatCount, paint);
+        }
+    }
+
+    private void computeLines() {
+        geometryDirty = false;
+        geomW = getWidth();
+        geomH = getHeight();
+        geomPl = getPaddingLeft();
+        geomPt = getPaddingTop();
+        geomPr = getPaddingRight();
+        geomPb = getPaddingBottom();
+        lineFloatCount = 0;
+
+        float left = geomPl + contentPaddingPx;
+        float top = geomPt + contentPaddingPx;
+        float right = geomW - geomPr - contentPaddingPx;
+        float bottom = geomH - geomPb - contentPaddingPx;
 
         if (right <= left || bottom <= top) return;
 
+        int count = (cols - 1) + (rows - 1) + (showOuterBorder ? 4 : 0);
+        if (lines.length < count * 4) lines = new float[count * 4];
+
         float cellW = (right - left) / cols;
         float cellH = (bottom - top) / rows;
 
+        if (pixelSnap) {
+            left = snap(left);
+            top = snap(top);
+            right = snap(right);
+            bottom = snap(bottom);
+        }
+
+        int i = 0;
+
         // Dikey çizgiler
-        for (int i = 1; i < cols; i++) {
-            float x = left + i * cellW;
-            canvas.drawLine(x, top, x, bottom, paint);
+        for (int c = 1; c < cols; c++) {
+            float x = left + c * cellW;
+            if (pixelSnap) x = snap(x);
+            lines[i++] = x;
+            lines[i++] = top;
+            lines[i++] = x;
+            lines[i++] = bottom;
         }
 
         // Yatay çizgiler
-        for (int j = 1; j < rows; j++) {
-            float y = top + j * cellH;
-            canvas.drawLine(left, y, right, y, paint);
+        for (int r = 1; r < rows; r++) {
+            float y = top + r * cellH;
+            if (pixelSnap) y = snap(y);
+            lines[i++] = left;
+            lines[i++] = y;
+            lines[i++] = right;
+            lines[i++] = y;
         }
 
-        // Dış sınır
+        // Dış sınır: yatay kenarlar yarım çizgi kalınlığı kadar uzatılır, köşeler dolu olsun
         if (showOuterBorder) {
-            canvas.drawRect(left, top, right, bottom, paint);
+            float hw = paint.getStrokeWidth() / 2f;
+            lines[i++] = left - hw;  lines[i++] = top;    lines[i++] = right + hw; lines[i++] = top;
+            lines[i++] = left - hw;  lines[i++] = bottom; lines[i++] = right + hw; lines[i++] = bottom;
+            lines[i++] = left;       lines[i++] = top;    lines[i++] = left;       lines[i++] = bottom;
+            lines[i++] = right;      lines[i++] = top;    lines[i++] = right;      lines[i++] = bottom;
+        }
+
+        lineFloatCount = i;
+    }
+
+    private void drawZoomed(Canvas canvas) {
+        float left = getPaddingLeft() + contentPaddingPx;
+        float top = getPaddingTop() + contentPaddingPx;
+        float right = getWidth() - getPaddingRight() - contentPaddingPx;
+        float bottom = getHeight() - getPaddingBottom() - contentPaddingPx;
+        if (right <= left || bottom <= top) return;
+
+        float cell = cellSizePx * zoom;
+        float ox = left + panX;
+        float oy = top + panY;
+        float gridR = ox + cols * cell;
+        float gridB = oy + rows * cell;
+
+        // gridin görünen kısmı
+        float l = Math.max(ox, left);
+        float t = Math.max(oy, top);
+        float r = Math.min(gridR, right);
+        float b = Math.min(gridB, bottom);
+        if (r <= l || b <= t) return;
+
+        if (zoom <= TILE_MAX_ZOOM) {
+            ensureTile();
+            float half = paint.getStrokeWidth() / 2f * zoom;
+            // Shader'ın local matrix'i sabit; zoom / pan canvas transform ile uygulanır.
+            // (setLocalMatrix her değişimde native shader'ı yeniden oluşturur)
+            float s = zoom * cellSizePx / tile.getWidth();
+            float tx = ox - half;
+            float ty = oy - half;
+            tilePaint.setFilterBitmap(zoom < 1f);
+            // dış çerçeve kapalıysa gridin sol / üst kenar çizgisini dışarıda bırak
+            float tl = !showOuterBorder && l == ox ? l + half * 2f : l;
+            float tt = !showOuterBorder && t == oy ? t + half * 2f : t;
+
+            int save = canvas.save();
+            canvas.translate(tx, ty);
+            canvas.scale(s, s);
+            canvas.drawRect((tl - tx) / s, (tt - ty) / s, (r - tx) / s, (b - ty) / s, tilePaint);
+            canvas.restoreToCount(save);
+
+            // tile sadece sol / üst kenarları taşır; sağ ve alt sınırı kapat
+            if (showOuterBorder) {
+                if (gridR <= right) canvas.drawLine(gridR, t, gridR, b, paint);
+                if (gridB <= bottom) canvas.drawLine(l, gridB, r, gridB, paint);
+            }
+            return;
+        }
+
+        // Yakın zoom: sadece görünen çizgiler (sayısı ekran / hücre boyutu ile sınırlı)
+        int c0 = Math.max(0, (int) Math.ceil((l - ox) / cell));
+        int c1 = Math.min(cols, (int) Math.floor((r - ox) / cell));
+        int r0 = Math.max(0, (int) Math.ceil((t - oy) / cell));
+        int r1 = Math.min(rows, (int) Math.floor((b - oy) / cell));
+
+        int count = Math.max(0, c1 - c0 + 1) + Math.max(0, r1 - r0 + 1);
+        if (viewportLines.length < count * 4) viewportLines = new float[count * 4];
+
+        int i = 0;
+        for (int c = c0; c <= c1; c++) {
+            if (!showOuterBorder && (c == 0 || c == cols)) continue;
+            float x = ox + c * cell;
+            if (pixelSnap) x = snap(x);
+            viewportLines[i++] = x;
+            viewportLines[i++] = t;
+            viewportLines[i++] = x;
+            viewportLines[i++] = b;
+        }
+        for (int rr = r0; rr <= r1; rr++) {
+            if (!showOuterBorder && (rr == 0 || rr == rows)) continue;
+            float y = oy + rr * cell;
+            if (pixelSnap) y = snap(y);
+            viewportLines[i++] = l;
+            viewportLines[i++] = y;
+            viewportLines[i++] = r;
+            viewportLines[i++] = y;
+        }
+        if (i > 0) canvas.drawLines(viewportLines, 0, i, paint);
+    }
+
+    private void drawCells(Canvas canvas) {
+        float left = getPaddingLeft() + contentPaddingPx;
+        float top = getPaddingTop() + contentPaddingPx;
+        float right = getWidth() - getPaddingRight() - contentPaddingPx;
+        float bottom = getHeight() - getPaddingBottom() - contentPaddingPx;
+        if (right <= left || bottom <= top) return;
+
+        float cw, ch, ox, oy;
+        if (zoomEnabled) {
+            cw = ch = cellSizePx * zoom;
+            ox = left + panX;
+            oy = top + panY;
+        } else {
+            cw = (right - left) / cols;
+            ch = (bottom - top) / rows;
+            ox = left;
+            oy = top;
+        }
+
+        // görünen hücre aralığı -> görünen bloklar
+        int c0 = Math.max(0, (int) Math.floor((left - ox) / cw));
+        int c1 = Math.min(cols, (int) Math.ceil((right - ox) / cw)) - 1;
+        int r0 = Math.max(0, (int) Math.floor((top - oy) / ch));
+        int r1 = Math.min(rows, (int) Math.ceil((bottom - oy) / ch)) - 1;
+        if (c1 < c0 || r1 < r0) return;
+
+        int save = 0;
+        if (zoomEnabled) {
+            save = canvas.save();
+            canvas.clipRect(left, top, right, bottom);
+        }
+        for (int ty = r0 / CELL_TILE; ty <= r1 / CELL_TILE; ty++) {
+            for (int tx = c0 / CELL_TILE; tx <= c1 / CELL_TILE; tx++) {
+                int ti = ty * cellTilesX + tx;
+                if (cellTiles[ti] == null) continue;
+
+                int tr = ty * CELL_TILE;
+                int tc = tx * CELL_TILE;
+                int w = Math.min(CELL_TILE, cols - tc);
+                int h = Math.min(CELL_TILE, rows - tr);
+                cellSrc.set(0, 0, w, h);
+                cellDst.set(ox + tc * cw, oy + tr * ch, ox + (tc + w) * cw, oy + (tr + h) * ch);
+                canvas.drawBitmap(uploadCellTile(ti), cellSrc, cellDst, cellPaint);
+            }
+        }
+        if (zoomEnabled) canvas.restoreToCount(save);
+    }
+
+    // blok bitmap'i ilk görünüşte oluşturulur, değişmişse yeniden yüklenir
+    private Bitmap uploadCellTile(int ti) {
+        Bitmap b = cellTileBitmaps[ti];
+        if (b == null) {
+            b = Bitmap.createBitmap(CELL_TILE, CELL_TILE, Bitmap.Config.ARGB_8888);
+            cellTileBitmaps[ti] = b;
+            cellTileDirty[ti] = true;
+        }
+        if (cellTileDirty[ti]) {
+            b.setPixels(cellTiles[ti], 0, CELL_TILE, 0, 0, CELL_TILE, CELL_TILE);
+            cellTileDirty[ti] = false;
+        }
+        return b;
+    }
+
+    private static boolean fitsCellLayer(int rows, int cols) {
+        return (long) rows * cols <= MAX_CELL_LAYER_CELLS;
+    }
+
+    private void ensureCells() {
+        if (cellTiles != null) return;
+        if (!fitsCellLayer(rows, cols)) {
+            throw new IllegalStateException("cell layer supports up to " + MAX_CELL_LAYER_CELLS
+                    + " cells, grid is " + rows + "x" + cols);
+        }
+        cellTilesX = (cols + CELL_TILE - 1) / CELL_TILE;
+        int n = cellTilesX * ((rows + CELL_TILE - 1) / CELL_TILE);
+        cellTiles = new int[n][];
+        cellTileBitmaps = new Bitmap[n];
+        cellTileDirty = new boolean[n];
+        if (cellPaint == null) {
+            cellPaint = new Paint();
+            // hücre kenarları keskin kalsın (büyütmede bilinear blur yok)
+            cellPaint.setFilterBitmap(false);
+        }
+    }
+
+    private void releaseCells() {
+        if (cellTileBitmaps != null) {
+            for (Bitmap b : cellTileBitmaps) {
+                if (b != null) b.recycle();
+            }
+        }
+        cellTiles = null;
+        cellTileBitmaps = null;
+        cellTileDirty = null;
+    }
+
+    // Sadece hücrenin ekran dikdörtgenini invalidate et (software katmanda kısmi yeniden çizim)
+    private void invalidateCell(int row, int col) {
+        float left = getPaddingLeft() + contentPaddingPx;
+        float top = getPaddingTop() + contentPaddingPx;
+        float cw, ch;
+        if (zoomEnabled) {
+            cw = ch = cellSizePx * zoom;
+            left += panX;
+            top += panY;
+        } else {
+            cw = (getWidth() - getPaddingRight() - contentPaddingPx - left) / cols;
+            ch = (getHeight() - getPaddingBottom() - contentPaddingPx - top) / rows;
+        }
+        // üstteki çizgiler de yeniden çizilsin
+        float lw = paint.getStrokeWidth();
+        float x = left + col * cw;
+        float y = top + row * ch;
+        RSUiKitMetrics.countInvalidate(RSUiKitMetrics.COMPONENT_GRID);
+        invalidate((int) Math.floor(x - lw), (int) Math.floor(y - lw),
+                (int) Math.ceil(x + cw + lw), (int) Math.ceil(y + ch + lw));
+    }
+
+    private void ensureTile() {
+        if (!tileDirty && tile != null) return;
+        tileDirty = false;
+
+        // bir hücre: sol ve üst kenarda çizgi, gerisi şeffaf
+        int size = Math.max(2, Math.round(cellSizePx));
+        int lw = Math.max(1, Math.round(paint.getStrokeWidth()));
+        if (tile == null || tile.getWidth() != size) {
+            if (tile != null) tile.recycle();
+            tile = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+        } else {
+            tile.eraseColor(Color.TRANSPARENT);
         }
+
+        Canvas c = new Canvas(tile);
+        Paint fill = new Paint();
+        fill.setColor(lineColor);
+        c.drawRect(0, 0, size, lw, fill);
+        c.drawRect(0, 0, lw, size, fill);
+
+        tileShader = new BitmapShader(tile, Shader.TileMode.REPEAT, Shader.TileMode.REPEAT);
+        if (tilePaint == null) tilePaint = new Paint();
+        tilePaint.setShader(tileShader);
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (!zoomEnabled) return super.onTouchEvent(event);
+
+        ensureDetectors();
+        if (event.getActionMasked() == MotionEvent.ACTION_DOWN && getParent() != null) {
+            // pan sırasında ScrollView vb. hareketi çalmasın
+            getParent().requestDisallowInterceptTouchEvent(true);
+        }
+        scaleDetector.onTouchEvent(event);
+        gestureDetector.onTouchEvent(event);
+        return true;
+    }
+
+    /**
+     * In zoom mode touches go to the pan / pinch detectors; a plain tap
+     * still ends up here, so click listeners and accessibility services
+     * see it as a click.
+     */
+    @Override
+    public boolean performClick() {
+        return super.performClick();
+    }
+
+    private void ensureDetectors() {
+        if (scaleDetector != null) return;
+
+        scaleDetector = new ScaleGestureDetector(getContext(), new ScaleGestureDetector.SimpleOnScaleGestureListener() {
+            @Override
+            public boolean onScale(ScaleGestureDetector d) {
+                setZoom(zoom * d.getScaleFactor(), d.getFocusX(), d.getFocusY());
+                return true;
+            }
+        });
+
+        gestureDetector = new GestureDetector(getContext(), new GestureDetector.SimpleOnGestureListener() {
+            @Override
+            public boolean onDown(MotionEvent e) {
+                return true;
+            }
+
+            @Override
+            public boolean onScroll(MotionEvent e1, MotionEvent e2, float dx, float dy) {
+                panBy(-dx, -dy);
+                return true;
+            }
+
+            @Override
+            public boolean onSingleTapUp(MotionEvent e) {
+                // pan / pinch değil, dokunma: click listener + erişilebilirlik
+                performClick();
+                return true;
+            }
+        });
+    }
+
+    // Tek piksel genişlikli çizgiler piksel merkezine, çift genişlikler piksel sınırına
+    private float snap(float v) {
+        int w = Math.round(paint.getStrokeWidth());
+        return (w % 2 == 1) ? (float) Math.floor(v) + 0.5f : Math.round(v);
     }
 
     // Public API
     public void setGrid(int rows, int cols) {
-        this.rows = Math.max(1, rows);
-        this.cols = Math.max(1, cols);
+        rows = Math.max(1, rows);
+        cols = Math.max(1, cols);
+        if (cellTiles != null && (rows != this.rows || cols != this.cols)) {
+            if (!fitsCellLayer(rows, cols)) {
+                throw new IllegalArgumentException("grid " + rows + "x" + cols + " is too large for the cell layer ("
+                        + MAX_CELL_LAYER_CELLS + " cells max), call clearCells() first");
+            }
+            // hücre verisi yeni boyuta uymaz: temizle
+            releaseCells();
+        }
+        this.rows = rows;
+        this.cols = cols;
+        geometryDirty = true;
         invalidate();
     }
 
     public void setLineColor(int color) {
         this.lineColor = color;
         paint.setColor(color);
+        tileDirty = true;
         invalidate();
     }
 
     public void setLineWidthDp(float dp) {
         this.lineWidthPx = dpToPx(dp);
-        paint.setStrokeWidth(lineWidthPx);
+        applyStroke();
         invalidate();
     }
 
     public void setPaddingDp(float dp) {
         this.contentPaddingPx = dpToPx(dp);
+        geometryDirty = true;
         invalidate();
     }
 
     public void setOuterBorderEnabled(boolean enabled) {
         this.showOuterBorder = enabled;
+        geometryDirty = true;
+        invalidate();
+    }
+
+    /**
+     * Non-antialiased, pixel-aligned lines. Best for 1px hairlines and dense grids.
+     */
+    public void setPixelSnapEnabled(boolean enabled) {
+        if (this.pixelSnap == enabled) return;
+        this.pixelSnap = enabled;
+        applyStroke();
+        invalidate();
+    }
+
+    // Zoom / pan API
+
+    /**
+     * Pinch-zoom / pan mode. Cells keep a fixed size (setCellSizeDp) scaled by
+     * the zoom factor instead of being fitted into the view.
+     */
+    public void setZoomEnabled(boolean enabled) {
+        if (this.zoomEnabled == enabled) return;
+        this.zoomEnabled = enabled;
+        invalidate();
+    }
+
+    public boolean isZoomEnabled() {
+        return zoomEnabled;
+    }
+
+    public void setCellSizeDp(float dp) {
+        this.cellSizePx = Math.max(1f, dpToPx(dp));
+        tileDirty = true;
+        invalidate();
+    }
+
+    public void setZoomRange(float min, float max) {
+        this.minZoom = Math.max(0.001f, Math.min(min, max));
+        this.maxZoom = Math.max(min, max);
+        setZoom(zoom, 0f, 0f);
+    }
+
+    /**
+     * Zooms keeping the content under (focusX, focusY) in place.
+     */
+    public void setZoom(float newZoom, float focusX, float focusY) {
+        newZoom = Math.max(minZoom, Math.min(maxZoom, newZoom));
+        if (newZoom == zoom) return;
+
+        float left = getPaddingLeft() + contentPaddingPx;
+        float top = getPaddingTop() + contentPaddingPx;
+        float k = newZoom / zoom;
+        panX = (focusX - left) - (focusX - left - panX) * k;
+        panY = (focusY - top) - (focusY - top - panY) * k;
+        zoom = newZoom;
+        invalidate();
+    }
+
+    public float getZoom() {
+        return zoom;
+    }
+
+    public void panBy(float dx, float dy) {
+        panX += dx;
+        panY += dy;
+        invalidate();
+    }
+
+    public void resetZoom() {
+        zoom = 1f;
+        panX = 0f;
+        panY = 0f;
+        invalidate();
+    }
+
+    // Cell layer API
+
+    /**
+     * Fills one cell (drawn under the grid lines). Only that cell's area is
+     * invalidated; cheap enough for per-frame sensor updates.
+     *
+     * @throws IllegalStateException if rows * columns exceeds MAX_CELL_LAYER_CELLS
+     */
+    public void setCell(int row, int col, int color) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("cell " + row + "," + col + " outside " + rows + "x" + cols);
+        }
+        ensureCells();
+        int ti = (row / CELL_TILE) * cellTilesX + col / CELL_TILE;
+        int[] tile = cellTiles[ti];
+        if (tile == null) {
+            if (color == Color.TRANSPARENT) return;
+            tile = new int[CELL_TILE * CELL_TILE];
+            cellTiles[ti] = tile;
+        }
+        int k = (row % CELL_TILE) * CELL_TILE + col % CELL_TILE;
+        if (tile[k] == color) return;
+        tile[k] = color;
+        cellTileDirty[ti] = true;
+        invalidateCell(row, col);
+    }
+
+    public int getCell(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("cell " + row + "," + col + " outside " + rows + "x" + cols);
+        }
+        if (cellTiles == null) return Color.TRANSPARENT;
+        int[] tile = cellTiles[(row / CELL_TILE) * cellTilesX + col / CELL_TILE];
+        return tile == null ? Color.TRANSPARENT : tile[(row % CELL_TILE) * CELL_TILE + col % CELL_TILE];
+    }
+
+    /**
+     * Replaces all cell colors at once. buffer is row-major (row * columns + col),
+     * at least rows * columns long; it is copied, the caller may reuse it.
+     * Fully transparent blocks allocate nothing.
+     *
+     * @throws IllegalStateException if rows * columns exceeds MAX_CELL_LAYER_CELLS
+     */
+    public void setCells(int[] buffer) {
+        ensureCells();
+        int n = rows * cols;
+        if (buffer.length < n) {
+            throw new IllegalArgumentException("buffer needs " + n + " colors, got " + buffer.length);
+        }
+        for (int tr = 0, ty = 0; tr < rows; tr += CELL_TILE, ty++) {
+            int h = Math.min(CELL_TILE, rows - tr);
+            for (int tc = 0, tx = 0; tc < cols; tc += CELL_TILE, tx++) {
+                int w = Math.min(CELL_TILE, cols - tc);
+                int ti = ty * cellTilesX + tx;
+                int[] tile = cellTiles[ti];
+                if (tile == null) {
+                    if (isTransparent(buffer, tr, tc, w, h)) continue;
+                    tile = new int[CELL_TILE * CELL_TILE];
+                    cellTiles[ti] = tile;
+                }
+                for (int r = 0; r < h; r++) {
+                    System.arraycopy(buffer, (tr + r) * cols + tc, tile, r * CELL_TILE, w);
+                }
+                cellTileDirty[ti] = true;
+            }
+        }
+        invalidate();
+    }
+
+    private boolean isTransparent(int[] buffer, int tr, int tc, int w, int h) {
+        for (int r = 0; r < h; r++) {
+            int from = (tr + r) * cols + tc;
+            for (int i = from; i < from + w; i++) {
+                if (buffer[i] != Color.TRANSPARENT) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes the cell layer (back to lines only).
+     */
+    public void clearCells() {
+        if (cellTiles == null) return;
+        releaseCells();
         invalidate();
     }
 
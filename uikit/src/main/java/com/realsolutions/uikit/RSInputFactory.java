@@ -0,0 +1,97 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.text.InputType;
+import android.util.TypedValue;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+
+import androidx.core.content.ContextCompat;
+
+import com.google.android.material.textfield.TextInputEditText;
+import com.google.android.material.textfield.TextInputLayout;
+
+/**
+ * Code-only counterpart of res/layout/rs_edit_text.xml and rs_password_input.xml.
+ *
+ * Used by RSEditText.Builder / RSPasswordInput.Builder to create the
+ * TextInputLayout + TextInputEditText pair without LayoutInflater and
+ * without an extra FrameLayout root.
+ *
+ * Keep the values here in sync with the XML layouts.
+ *
+ * Notes:
+ * - app:boxCollapsedPaddingTop has no public setter; it is only used by
+ *   the filled box mode, so it has no effect on our outline box.
+ */
+final class RSInputFactory {
+
+    private RSInputFactory() {
+    }
+
+    static TextInputLayout createInputLayout(Context context, int endIconMode) {
+        Resources res = context.getResources();
+
+        TextInputLayout til = new TextInputLayout(context);
+        til.setId(R.id.til);
+
+        til.setBoxBackgroundMode(TextInputLayout.BOX_BACKGROUND_OUTLINE);
+        float radius = res.getDimension(R.dimen.rs_input_radius);
+        til.setBoxCornerRadii(radius, radius, radius, radius);
+
+        til.setBoxStrokeWidth(0);
+        til.setBoxStrokeWidthFocused(res.getDimensionPixelSize(R.dimen.rs_input_stroke));
+        til.setHintEnabled(true);
+
+        til.setPlaceholderText(res.getString(R.string.rs_empty));
+        til.setPlaceholderTextColor(ContextCompat.getColorStateList(context, R.color.rs_input_hint));
+
+        til.setEndIconMode(endIconMode);
+        if (endIconMode == TextInputLayout.END_ICON_PASSWORD_TOGGLE) {
+            til.setEndIconTintList(ContextCompat.getColorStateList(context, R.color.rs_input_icon_default));
+        }
+        return til;
+    }
+
+    /**
+     * @param context  use til.getContext(), the inflater does the same for child views
+     *                 (TextInputLayout applies its materialThemeOverlay there)
+     * @param password true for rs_password_input.xml values
+     */
+    static TextInputEditText createEditText(Context context, boolean password) {
+        Resources res = context.getResources();
+
+        TextInputEditText et = new TextInputEditText(context);
+        et.setId(R.id.et);
+        et.setBackground(null);
+        et.setMinHeight(dp(res, 60));
+
+        int padH = res.getDimensionPixelSize(R.dimen.rs_input_padding_horizontal);
+        int padBottom = res.getDimensionPixelSize(R.dimen.rs_input_padding_vertical);
+        et.setPaddingRelative(padH, dp(res, 22), padH, padBottom);
+
+        et.setSingleLine(true);
+        if (password) {
+            et.setInputType(InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_PASSWORD);
+        }
+        et.setTextColor(ContextCompat.getColorStateList(context, R.color.rs_input_text));
+        et.setTextSize(TypedValue.COMPLEX_UNIT_PX, res.getDimension(R.dimen.rs_input_text_size));
+        return et;
+    }
+
+    /**
+     * Same tree as the XML layouts, minus their FrameLayout root:
+     * host -> TextInputLayout -> (internal frame) -> TextInputEditText
+     */
+    static void attach(FrameLayout host, TextInputLayout til, TextInputEditText et, boolean matchParentHeight) {
+        int etHeight = matchParentHeight ? ViewGroup.LayoutParams.MATCH_PARENT : ViewGroup.LayoutParams.WRAP_CONTENT;
+        til.addView(et, new LinearLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, etHeight));
+        host.addView(til, new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+    }
+
+    private static int dp(Resources res, int v) {
+        return (int) (v * res.getDisplayMetrics().density + 0.5f);
+    }
+}
@@ -0,0 +1,295 @@
+package com.realsolutions.uikit;
+
+import android.text.Editable;
+import android.text.Selection;
+import android.text.TextWatcher;
+import android.widget.EditText;
+
+import androidx.annotation.NonNull;
+
+/**
+ * RealSolutions UI Kit - Input Mask
+ *
+ * Fixed-format input masks for RSEditText (IDs, phone numbers, IBANs ...).
+ *
+ * Pattern syntax:
+ *  #  digit
+ *  A  letter
+ *  *  letter or digit
+ *  \  next character is a literal (e.g. \# or \A)
+ *  anything else is a literal, inserted automatically
+ *
+ * Examples:
+ *  "(###) ### ## ##"            phone
+ *  "TR## #### #### #### #### #### ##"   IBAN
+ *  "###########"                TCKN
+ *
+ * Usage:
+ *
+ * XML : app:rsMask="(###) ### ## ##"
+ * Java: input.setMask("(###) ### ## ##");
+ *
+ * Notes:
+ * - The pattern is compiled once into a primitive table (kind + literal per position)
+ * - Formatting edits the Editable in place: only the changed range is
+ *   replaced, spans outside it and the cursor (counted in user characters)
+ *   are kept, nothing is allocated per keystroke
+ * - Backspace over a literal also deletes the user character before it
+ * - Characters that do not fit their slot are dropped, input beyond the
+ *   pattern is cut
+ */
+public final class RSInputMask {
+
+    static final byte LITERAL = 0;
+    static final byte DIGIT = 1;
+    static final byte LETTER = 2;
+    static final byte ALNUM = 3;
+
+    private final String pattern;
+    final byte[] kinds;
+    final char[] literals;
+    final int length;
+    final int slotCount;
+
+    private RSInputMask(String pattern, byte[] kinds, char[] literals, int length, int slotCount) {
+        this.pattern = pattern;
+        this.kinds = kinds;
+        this.literals = literals;
+        this.length = length;
+        this.slotCount = slotCount;
+    }
+
+    @NonNull
+    public static RSInputMask compile(@NonNull String pattern) {
+        byte[] kinds = new byte[pattern.length()];
+        char[] literals = new char[pattern.length()];
+        int n = 0;
+        int slots = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\' && i + 1 < pattern.length()) {
+                kinds[n] = LITERAL;
+                literals[n++] = pattern.charAt(++i);
+                continue;
+            }
+            byte kind;
+            switch (c) {
+                case '#': kind = DIGIT; break;
+                case 'A': kind = LETTER; break;
+                case '*': kind = ALNUM; break;
+                default: kind = LITERAL; break;
+            }
+            kinds[n] = kind;
+            literals[n++] = kind == LITERAL ? c : 0;
+            if (kind != LITERAL) slots++;
+        }
+        if (slots == 0) throw new IllegalArgumentException("mask has no input slots: " + pattern);
+        return new RSInputMask(pattern, kinds, literals, n, slots);
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Number of user characters a complete input has.
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * User characters of a formatted text (literals removed).
+     */
+    @NonNull
+    public String unmask(@NonNull CharSequence formatted) {
+        StringBuilder sb = new StringBuilder(slotCount);
+        int j = 0;
+        for (int i = 0; i < formatted.length() && j < length; i++) {
+            char c = formatted.charAt(i);
+            while (j < length && kinds[j] == LITERAL && literals[j] != c) j++;
+            if (j >= length) break;
+            if (kinds[j] == LITERAL) {
+                j++;
+            } else if (accepts(kinds[j], c)) {
+                sb.append(c);
+                j++;
+            }
+        }
+        return sb.toString();
+    }
+
+    static boolean accepts(byte kind, char c) {
+        switch (kind) {
+            case DIGIT: return c >= '0' && c <= '9';
+            case LETTER: return Character.isLetter(c);
+            case ALNUM: return Character.isLetterOrDigit(c);
+            default: return false;
+        }
+    }
+
+    /**
+     * In-place formatter attached to one EditText. Scratch buffers are sized
+     * once from the mask, so keystrokes do not allocate.
+     */
+    static final class Formatter implements TextWatcher {
+
+        private final RSInputMask mask;
+        private final EditText editText;
+
+        private final char[] user;
+        private final char[] out;
+        private final CharArray outSeq;
+
+        private boolean editing;
+        private boolean backspaceOverLiteral;
+
+        Formatter(RSInputMask mask, EditText editText) {
+            this.mask = mask;
+            this.editText = editText;
+            this.user = new char[mask.slotCount];
+            this.out = new char[mask.length];
+            this.outSeq = new CharArray(out);
+            editText.addTextChangedListener(this);
+            Editable text = editText.getText();
+            if (text != null) format(text);
+        }
+
+        void release() {
+            editText.removeTextChangedListener(this);
+        }
+
+        RSInputMask getMask() {
+            return mask;
+        }
+
+        @Override
+        public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            if (editing) return;
+            // tek karakter silme, silinen karakter maskenin literal'i mi?
+            backspaceOverLiteral = count == 1 && after == 0
+                    && start < mask.length && mask.kinds[start] == LITERAL
+                    && s.charAt(start) == mask.literals[start];
+        }
+
+        @Override
+        public void onTextChanged(CharSequence s, int start, int before, int count) {
+        }
+
+        @Override
+        public void afterTextChanged(Editable s) {
+            if (editing) return;
+            format(s);
+        }
+
+        private void format(Editable s) {
+            final byte[] kinds = mask.kinds;
+            final char[] literals = mask.literals;
+            final int len = mask.length;
+
+            int cursor = Selection.getSelectionEnd(s);
+            if (cursor < 0) cursor = s.length();
+
+            // 1) kullanıcı karakterlerini çıkar, cursor'dan önce kaç tane var say
+            int n = 0;
+            int before = 0;
+            int j = 0;
+            for (int i = 0, sl = s.length(); i < sl && j < len; i++) {
+                char c = s.charAt(i);
+                // beklenen literal yazılmamışsa atla (otomatik eklenecek)
+                while (j < len && kinds[j] == LITERAL && literals[j] != c) j++;
+                if (j >= len) break;
+                if (kinds[j] == LITERAL) {
+                    j++;
+                } else if (accepts(kinds[j], c)) {
+                    user[n++] = c;
+                    if (i < cursor) before = n;
+                    j++;
+                }
+                // slota uymayan karakter düşer
+            }
+
+            // literal üzerinden backspace: önündeki kullanıcı karakterini de sil
+            if (backspaceOverLiteral && before > 0) {
+                System.arraycopy(user, before, user, before - 1, n - before);
+                n--;
+                before--;
+            }
+            backspaceOverLiteral = false;
+
+            // 2) maskeye yerleştir; literal sadece ardından kullanıcı karakteri geliyorsa yazılır
+            int o = 0;
+            int k = 0;
+            int newCursor = 0;
+            for (j = 0; j < len && k < n; j++) {
+                if (kinds[j] == LITERAL) {
+                    out[o++] = literals[j];
+                } else {
+                    out[o++] = user[k++];
+                }
+                if (k == before && (kinds[j] != LITERAL || before == 0)) newCursor = o;
+            }
+            if (before == 0) newCursor = leadingLiterals(o);
+
+            // 3) sadece farklı aralığı değiştir: span'lar ve IME composing korunur
+            int sl = s.length();
+            int p = 0;
+            while (p < sl && p < o && s.charAt(p) == out[p]) p++;
+            if (p == sl && p == o) return;
+            int q = 0;
+            while (q < sl - p && q < o - p && s.charAt(sl - 1 - q) == out[o - 1 - q]) q++;
+
+            editing = true;
+            try {
+                outSeq.setLength(o);
+                s.replace(p, sl - q, outSeq, p, o - q);
+            } finally {
+                editing = false;
+            }
+            Selection.setSelection(s, Math.min(newCursor, s.length()));
+        }
+
+        private int leadingLiterals(int limit) {
+            int i = 0;
+            while (i < limit && mask.kinds[i] == LITERAL) i++;
+            return i;
+        }
+    }
+
+    // char[] üzerinde tekrar kullanılabilir CharSequence (replace için kopya yok)
+    private static final class CharArray implements CharSequence {
+
+        private final char[] chars;
+        private int length;
+
+        CharArray(char[] chars) {
+            this.chars = chars;
+        }
+
+        void setLength(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return chars[index];
+        }
+
+        @NonNull
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(chars, start, end - start);
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+}
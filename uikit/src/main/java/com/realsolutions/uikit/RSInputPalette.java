@@ -0,0 +1,123 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+
+import java.util.Objects;
+
+/**
+ * RealSolutions UI Kit - Input Palette
+ *
+ * Immutable set of colors and end icons used by RSEditText and RSPasswordInput
+ * for their visual states.
+ *
+ * Resolved once per configuration (light / values-night, density) and shared
+ * by all input instances, so focus changes do not go through
+ * ContextCompat.getColor / getColorStateList / getDrawable again.
+ *
+ * Usage:
+ *
+ * RSInputPalette palette = RSInputPalette.obtain(getContext());
+ * til.setBoxStrokeColor(palette.strokeFocused);
+ *
+ * Notes:
+ * - obtain() re-resolves automatically when the configuration key changes
+ *   (e.g. dark mode switch), call it again from onConfigurationChanged
+ * - invalidate() drops the cached palette (e.g. after changing app theme in code)
+ * - End icons are kept as ConstantStates; newErrorIcon() / newSuccessIcon()
+ *   create a cheap Drawable sharing that state
+ */
+public final class RSInputPalette {
+
+    private static volatile RSInputPalette cached;
+
+    private final int key;
+
+    // box stroke
+    public final int strokeDefault;
+    public final int strokeFocused;
+    public final int strokeError;
+    public final int strokeSuccess;
+
+    // box background
+    public final int bg;
+    public final int bgFocused;
+
+    // label (floating hint)
+    public final ColorStateList labelDefault;
+    public final ColorStateList labelFocused;
+    public final ColorStateList labelError;
+
+    // end icon tint
+    public final ColorStateList iconDefault;
+    public final ColorStateList iconError;
+    public final ColorStateList iconSuccess;
+
+    // end icons
+    private final Drawable.ConstantState errorIcon;
+    private final Drawable.ConstantState successIcon;
+
+    private RSInputPalette(Context context, int key) {
+        this.key = key;
+
+        strokeDefault = ContextCompat.getColor(context, R.color.rs_input_stroke_default);
+        strokeFocused = ContextCompat.getColor(context, R.color.rs_input_stroke_focused);
+        strokeError = ContextCompat.getColor(context, R.color.rs_input_stroke_error);
+        strokeSuccess = ContextCompat.getColor(context, R.color.rs_input_stroke_success);
+
+        bg = ContextCompat.getColor(context, R.color.rs_input_bg);
+        bgFocused = ContextCompat.getColor(context, R.color.rs_input_bg_focused);
+
+        labelDefault = ContextCompat.getColorStateList(context, R.color.rs_input_label_default);
+        labelFocused = ContextCompat.getColorStateList(context, R.color.rs_input_label_focused);
+        labelError = ContextCompat.getColorStateList(context, R.color.rs_input_label_error);
+
+        iconDefault = ContextCompat.getColorStateList(context, R.color.rs_input_icon_default);
+        iconError = ContextCompat.getColorStateList(context, R.color.rs_input_icon_error);
+        iconSuccess = ContextCompat.getColorStateList(context, R.color.rs_input_icon_success);
+
+        errorIcon = constantState(context, R.drawable.rs_ic_error);
+        successIcon = constantState(context, R.drawable.rs_ic_success);
+    }
+
+    /**
+     * Returns the shared palette for the context's current configuration.
+     * Any thread (RSViewPool builds inputs in the background): palettes are
+     * immutable, a racing call at worst resolves one twice.
+     */
+    @NonNull
+    public static RSInputPalette obtain(@NonNull Context context) {
+        int key = RSConfigKey.of(context.getResources().getConfiguration());
+        RSInputPalette p = cached;
+        if (p == null || p.key != key) {
+            p = new RSInputPalette(context, key);
+            cached = p;
+        }
+        return p;
+    }
+
+    /**
+     * Drops the shared palette; the next obtain() resolves it again.
+     */
+    public static void invalidate() {
+        cached = null;
+    }
+
+    public Drawable newErrorIcon(Resources res) {
+        return errorIcon.newDrawable(res);
+    }
+
+    public Drawable newSuccessIcon(Resources res) {
+        return successIcon.newDrawable(res);
+    }
+
+    private static Drawable.ConstantState constantState(Context context, int resId) {
+        Drawable d = Objects.requireNonNull(ContextCompat.getDrawable(context, resId));
+        return Objects.requireNonNull(d.getConstantState());
+    }
+}
@@ -0,0 +1,166 @@
+package com.realsolutions.uikit;
+
+import android.content.res.ColorStateList;
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+
+import com.google.android.material.textfield.TextInputLayout;
+
+/**
+ * State-transition engine shared by RSEditText and RSPasswordInput.
+ *
+ * Computes the TextInputLayout properties of a STATE_* value from the
+ * RSInputPalette and writes only the ones that differ from what was applied
+ * last time:
+ *  - box stroke color
+ *  - hint (label) color
+ *  - box background color
+ *  - end icon drawable / tint / visibility
+ *
+ * Every Material setter may invalidate or relayout the TextInputLayout, so
+ * re-applying the current state costs zero writes.
+ *
+ * stateIcons:
+ *  - true  : error / success icon on the end (RSEditText)
+ *  - false : end icon is owned by the component (password toggle), only its tint is managed
+ */
+final class RSInputStateEngine {
+
+    private final TextInputLayout til;
+    private final Resources res;
+    private final boolean stateIcons;
+
+    private RSInputPalette palette;
+    private Drawable errorIcon;
+    private Drawable successIcon;
+
+    // Last applied values; valid only when applied == true
+    private boolean applied;
+    private int stroke;
+    private ColorStateList hint;
+    private int bg;
+    private Drawable endIcon;
+    private ColorStateList endIconTint;
+    private boolean endIconVisible;
+
+    private int writes;
+
+    RSInputStateEngine(TextInputLayout til, RSInputPalette palette, boolean stateIcons) {
+        this.til = til;
+        this.res = til.getResources();
+        this.palette = palette;
+        this.stateIcons = stateIcons;
+    }
+
+    /**
+     * New palette (configuration change): forget applied values so the next
+     * apply() writes everything again.
+     */
+    void setPalette(RSInputPalette palette) {
+        if (this.palette == palette) return;
+        this.palette = palette;
+        errorIcon = null;
+        successIcon = null;
+        applied = false;
+    }
+
+    void apply(int state) {
+        RSInputPalette p = palette;
+
+        int newStroke;
+        ColorStateList newHint;
+        int newBg;
+        switch (state) {
+            case RSEditText.STATE_FOCUSED:
+                newStroke = p.strokeFocused;
+                newHint = p.labelFocused;
+                newBg = p.bgFocused;
+                break;
+            case RSEditText.STATE_ERROR:
+                newStroke = p.strokeError;
+                newHint = p.labelError;
+                newBg = p.bg;
+                break;
+            case RSEditText.STATE_SUCCESS:
+                newStroke = p.strokeSuccess;
+                newHint = p.labelDefault;
+                newBg = p.bg;
+                break;
+            case RSEditText.STATE_DEFAULT:
+            default:
+                newStroke = p.strokeDefault;
+                newHint = p.labelDefault;
+                newBg = p.bg;
+                break;
+        }
+
+        if (!applied || stroke != newStroke) {
+            til.setBoxStrokeColor(newStroke);
+            stroke = newStroke;
+            writes++;
+        }
+        if (!applied || hint != newHint) {
+            til.setHintTextColor(newHint);
+            hint = newHint;
+            writes++;
+        }
+        if (!applied || bg != newBg) {
+            til.setBoxBackgroundColor(newBg);
+            bg = newBg;
+            writes++;
+        }
+
+        if (stateIcons) {
+            applyStateIcon(state);
+        } else if (!applied || endIconTint != p.iconDefault) {
+            til.setEndIconTintList(p.iconDefault);
+            endIconTint = p.iconDefault;
+            writes++;
+        }
+
+        applied = true;
+    }
+
+    private void applyStateIcon(int state) {
+        boolean visible = state == RSEditText.STATE_ERROR || state == RSEditText.STATE_SUCCESS;
+
+        if (visible) {
+            Drawable newIcon;
+            ColorStateList newTint;
+            if (state == RSEditText.STATE_ERROR) {
+                if (errorIcon == null) errorIcon = palette.newErrorIcon(res);
+                newIcon = errorIcon;
+                newTint = palette.iconError;
+            } else {
+                if (successIcon == null) successIcon = palette.newSuccessIcon(res);
+                newIcon = successIcon;
+                newTint = palette.iconSuccess;
+            }
+
+            // hidden icons keep whatever drawable they had, like before
+            if (!applied || endIcon != newIcon) {
+                til.setEndIconDrawable(newIcon);
+                endIcon = newIcon;
+                writes++;
+            }
+            if (!applied || endIconTint != newTint) {
+                til.setEndIconTintList(newTint);
+                endIconTint = newTint;
+                writes++;
+            }
+        }
+
+        if (!applied || endIconVisible != visible) {
+            til.setEndIconVisible(visible);
+            endIconVisible = visible;
+            writes++;
+        }
+    }
+
+    /**
+     * Number of TextInputLayout property writes done so far.
+     */
+    int getWriteCount() {
+        return writes;
+    }
+}
@@ -4,23 +4,53 @@ import android.animation.ValueAnimator;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.*;
+import android.os.PowerManager;
 import android.util.AttributeSet;
 import android.view.View;
-import android.view.animation.LinearInterpolator;
 
 import androidx.annotation.Nullable;
 
 public class RSLoadingCircle extends View {
 
+    // Render modes (attrs.xml rsRenderMode)
+    // CANVAS      : her frame'de onDraw, trail canvas üzerinde döndürülür
+    // RENDER_NODE : disk + trail bir kez RenderNode'a kaydedilir (hardware layer),
+    //               sadece View rotation property'si animasyonla değişir, onDraw frame başına çalışmaz.
+    //               Bu modda View.setRotation spinner'a aittir.
+    //               Not: açı yine main thread'de (RSFrameTicker / Choreographer) ilerletilir;
+    //               main thread tıkanırsa spinner da durur. Kazanç frame başına iş
+    //               (onDraw, kayıt, rasterize), takılmaya karşı koruma değil.
+    public static final int RENDER_MODE_CANVAS = 0;
+    public static final int RENDER_MODE_RENDER_NODE = 1;
+
     // attrs
     private int sizePx;
     private float speedDegPerSec = 260f;
     private float trailDeg = 260f;
     private int glowColor = 0xFF3B66FF;   // rsColor default
 
-    // animation
+    // animation: tüm instance'lar tek RSFrameTicker (Choreographer) ile döner
     private float rotationDeg = 0f;
-    private ValueAnimator animator;
+
+    // animation policy
+    // - hidden (GONE/INVISIBLE, parent hidden), detached, off screen: frame yok
+    // - window focus kaybı (pauseOnWindowFocusLoss): pause
+    // - maxFps / lowPowerMaxFps (battery saver): frame cap, battery saver
+    //   değişince RSFrameTicker'ın ortak receiver'ı yeniden hesaplatır
+    // - sistem animator duration scale: RSFrameTicker uygular, 0 ise statik çizilir
+    private int maxFps = 0;
+    private int lowPowerMaxFps = 30;
+    private boolean pauseOnWindowFocusLoss = true;
+    private boolean visibleAggregated = true;
+    private long minFrameIntervalMs;
+    private long lastFrameMs;
+    private long framesDrawn;
+    private final Rect visibleRect = new Rect();
+
+    // render node mode
+    private int renderMode = RENDER_MODE_CANVAS;
+    private RenderNode contentNode;
+    private boolean contentDirty = true;
 
     // paints
     private final Paint basePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
@@ -30,18 +60,16 @@ public class RSLoadingCircle extends View {
 
     // colors
     private final int baseColor = 0xFF14161A;     // koyu disk
-    private final int transparent = 0x00000000;
 
-    // shaders
-    private SweepGradient sweep;
-    private RadialGradient radialMask;
-    private final Matrix sweepMatrix = new Matrix();
+    // shader: RSLoadingShaderCache'ten, paylaşımlı (değiştirilmez)
+    private Shader trailShader;
 
     public RSLoadingCircle(Context c) { super(c); init(null); }
     public RSLoadingCircle(Context c, @Nullable AttributeSet a) { super(c, a); init(a); }
     public RSLoadingCircle(Context c, @Nullable AttributeSet a, int d) { super(c, a, d); init(a); }
 
     private void init(@Nullable AttributeSet attrs) {
+        long t = RSUiKitMetrics.begin();
         sizePx = dp(96);
 
         if (attrs != null) {
@@ -49,6 +77,9 @@ public class RSLoadingCircle extends View {
             speedDegPerSec = ta.getFloat(R.styleable.RSLoadingCircle_rsSpeed, speedDegPerSec);
             trailDeg = ta.getFloat(R.styleable.RSLoadingCircle_rsTrailDeg, trailDeg);
             glowColor = ta.getColor(R.styleable.RSLoadingCircle_rsColor, glowColor);
+            renderMode = ta.getInt(R.styleable.RSLoadingCircle_rsRenderMode, renderMode);
+            maxFps = ta.getInt(R.styleable.RSLoadingCircle_rsMaxFps, maxFps);
+            lowPowerMaxFps = ta.getInt(R.styleable.RSLoadingCircle_rsLowPowerMaxFps, lowPowerMaxFps);
             ta.recycle();
         }
 
@@ -59,35 +90,144 @@ public class RSLoadingCircle extends View {
         trailPaint.setDither(true);
         trailPaint.setFilterBitmap(true);
 
-        setupAnimator();
+        applyRenderMode();
+        RSUiKitMetrics.endInit(RSUiKitMetrics.COMPONENT_LOADING_CIRCLE, t);
     }
 
-    private void setupAnimator() {
-        if (animator != null) animator.cancel();
+    public void setRenderMode(int mode) {
+        if (mode != RENDER_MODE_RENDER_NODE) mode = RENDER_MODE_CANVAS;
+        if (mode == renderMode) return;
+        renderMode = mode;
+        applyRenderMode();
+        invalidate();
+    }
 
-        animator = ValueAnimator.ofFloat(0f, 360f);
-        animator.setInterpolator(new LinearInterpolator());
-        animator.setRepeatCount(ValueAnimator.INFINITE);
+    public int getRenderMode() {
+        return renderMode;
+    }
 
-        long durationMs = (long) (360f / Math.max(1f, speedDegPerSec) * 1000f);
-        animator.setDuration(Math.max(300, durationMs));
+    private void applyRenderMode() {
+        if (renderMode == RENDER_MODE_RENDER_NODE) {
+            // içerik sabit, sadece transform değişir: GPU katmanı tekrar rasterize edilmez
+            setLayerType(LAYER_TYPE_HARDWARE, null);
+            setRotation(rotationDeg);
+        } else {
+            setLayerType(LAYER_TYPE_NONE, null);
+            setRotation(0f);
+        }
+        contentDirty = true;
+    }
 
-        animator.addUpdateListener(a -> {
-            rotationDeg = (float) a.getAnimatedValue();
+    /**
+     * Called by RSFrameTicker once per frame while this circle is registered.
+     * rotation is shared by all circles with the same speed.
+     */
+    void onFrame(long frameTimeNanos, float rotation) {
+        // frame cap
+        long nowMs = frameTimeNanos / 1_000_000L;
+        if (minFrameIntervalMs > 0 && nowMs - lastFrameMs < minFrameIntervalMs) return;
+        // scroll ile ekran dışına çıktıysa çizme
+        if (!getLocalVisibleRect(visibleRect)) return;
+        lastFrameMs = nowMs;
+
+        rotationDeg = rotation;
+        if (renderMode == RENDER_MODE_RENDER_NODE) {
+            // sadece RenderNode property'si: onDraw / display list kaydı yok
+            setRotation(rotationDeg);
+            framesDrawn++;
+            RSUiKitMetrics.countFrame(RSUiKitMetrics.COMPONENT_LOADING_CIRCLE);
+        } else {
             invalidate();
-        });
+            RSUiKitMetrics.countInvalidate(RSUiKitMetrics.COMPONENT_LOADING_CIRCLE);
+        }
+    }
+
+    public float getSpeed() {
+        return speedDegPerSec;
+    }
+
+    // Policy API
+    public void setMaxFps(int fps) {
+        maxFps = Math.max(0, fps);
+        updateAnimationState();
+    }
+
+    public void setLowPowerMaxFps(int fps) {
+        lowPowerMaxFps = Math.max(0, fps);
+        updateAnimationState();
+    }
+
+    public void setPauseOnWindowFocusLoss(boolean pause) {
+        pauseOnWindowFocusLoss = pause;
+        updateAnimationState();
+    }
+
+    /**
+     * Frames rendered so far (onDraw calls, or rotation updates in render node mode).
+     * Stays constant while the spinner is hidden, paused or off screen.
+     */
+    public long getFramesDrawn() {
+        return framesDrawn;
     }
 
     @Override protected void onAttachedToWindow() {
         super.onAttachedToWindow();
-        if (animator != null) animator.start();
+        updateAnimationState();
     }
 
     @Override protected void onDetachedFromWindow() {
-        if (animator != null) animator.cancel();
+        RSFrameTicker.get().unregister(this);
         super.onDetachedFromWindow();
     }
 
+    @Override public void onVisibilityAggregated(boolean isVisible) {
+        super.onVisibilityAggregated(isVisible);
+        visibleAggregated = isVisible;
+        updateAnimationState();
+    }
+
+    @Override public void onWindowFocusChanged(boolean hasWindowFocus) {
+        super.onWindowFocusChanged(hasWindowFocus);
+        if (pauseOnWindowFocusLoss) updateAnimationState();
+    }
+
+    private void updateAnimationState() {
+        boolean run = isAttachedToWindow()
+                && visibleAggregated
+                && (!pauseOnWindowFocusLoss || hasWindowFocus())
+                && ValueAnimator.areAnimatorsEnabled();
+
+        RSFrameTicker ticker = RSFrameTicker.get();
+        if (!run) {
+            ticker.unregister(this);
+            return;
+        }
+
+        updateFrameCap();
+        ticker.register(this);
+    }
+
+    /**
+     * Recomputes the frame cap from maxFps and the current battery saver state.
+     * Also called by RSFrameTicker when battery saver is toggled.
+     */
+    void updateFrameCap() {
+        int fps = maxFps;
+        PowerManager pm = (PowerManager) getContext().getSystemService(Context.POWER_SERVICE);
+        if (lowPowerMaxFps > 0 && pm != null && pm.isPowerSaveMode()) {
+            fps = fps > 0 ? Math.min(fps, lowPowerMaxFps) : lowPowerMaxFps;
+        }
+        // küçük tolerans: 30fps cap 60Hz ekranda her 2. frame'i alsın
+        minFrameIntervalMs = fps > 0 ? (1000L / fps) - 2 : 0;
+    }
+
+    /**
+     * Minimum ms between two frames, 0 = uncapped.
+     */
+    long getMinFrameIntervalMs() {
+        return minFrameIntervalMs;
+    }
+
     @Override protected void onMeasure(int wSpec, int hSpec) {
         // rsSize sadece wrap_content ölçümünde etkili olur.
         int w = resolveSize(sizePx, wSpec);
@@ -99,44 +239,88 @@ public class RSLoadingCircle extends View {
     @Override protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
         oval.set(0, 0, w, h);
+        updateTrailShader();
+    }
+
+    // Public API (XML attr'ların runtime karşılıkları)
+    public void setColor(int color) {
+        if (color == glowColor) return;
+        glowColor = color;
+        updateTrailShader();
+        invalidate();
+    }
 
-        float cx = w / 2f;
-        float cy = h / 2f;
-        float r = Math.min(cx, cy);
+    public int getColor() {
+        return glowColor;
+    }
 
-        float pEnd = clamp(trailDeg / 360f, 0f, 1f);
+    public void setTrailDeg(float deg) {
+        deg = clamp(deg, 0f, 360f);
+        if (deg == trailDeg) return;
+        trailDeg = deg;
+        updateTrailShader();
+        invalidate();
+    }
 
-        // HEAD (en parlak) -> sonra arkaya doğru sönümlensin
-        // Not: SweepGradient 0..pEnd aralığını “trail” olarak kullanıyor.
-        // Biz HEAD'i trail'in SONUNA koyacağız (pEnd), böylece sadece arkada kalır.
-        int head = argb(255, glowColor);
-        int mid1 = argb(160, glowColor);
-        int mid2 = argb(70, glowColor);
-        int tail = argb(0, glowColor);
+    public float getTrailDeg() {
+        return trailDeg;
+    }
 
-        sweep = new SweepGradient(cx, cy,
-                new int[]{tail, mid2, mid1, head, transparent},
-                new float[]{0f, pEnd * 0.50f, pEnd * 0.80f, pEnd, Math.min(1f, pEnd + 0.001f)}
-        );
+    /**
+     * Degrees per second. Takes effect on the next frame; circles with the
+     * same speed share the same phase.
+     */
+    public void setSpeed(float degPerSec) {
+        speedDegPerSec = Math.max(1f, degPerSec);
+    }
 
-        // Delik olmaması için “kesmek” yerine merkezde biraz daha soluk yapan mask:
-        // merkez %0.55 opak, kenar %1.0 opak
-        radialMask = new RadialGradient(
-                cx, cy, r,
-                new int[]{0x88FFFFFF, 0xFFFFFFFF},
-                new float[]{0f, 1f},
-                Shader.TileMode.CLAMP
-        );
+    private void updateTrailShader() {
+        int w = getWidth();
+        int h = getHeight();
+        if (w <= 0 || h <= 0) return;
 
-        // Sweep + radial mask birleşimi
-        // DST_IN: sweep çizimi radial alfa ile maskelenir (delik yok, sadece merkez yumuşar)
-        ComposeShader composed = new ComposeShader(sweep, radialMask, PorterDuff.Mode.DST_IN);
-        trailPaint.setShader(composed);
+        // (size, color, trail) başına tek shader, instance'lar arasında paylaşılır
+        trailShader = RSLoadingShaderCache.get(w, h, glowColor, trailDeg);
+        trailPaint.setShader(trailShader);
+        contentDirty = true;
     }
 
     @Override protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
+        framesDrawn++;
+        long t = RSUiKitMetrics.begin();
+        drawFrame(canvas);
+        RSUiKitMetrics.endDraw(RSUiKitMetrics.COMPONENT_LOADING_CIRCLE, t);
+        RSUiKitMetrics.countFrame(RSUiKitMetrics.COMPONENT_LOADING_CIRCLE);
+    }
+
+    private void drawFrame(Canvas canvas) {
+
+        if (renderMode == RENDER_MODE_RENDER_NODE) {
+            // Dönüş View rotation'da; içerik HEAD 0° konumunda kaydedilir
+            if (canvas.isHardwareAccelerated()) {
+                if (contentNode == null) contentNode = new RenderNode("RSLoadingCircle");
+                if (contentDirty || !contentNode.hasDisplayList()) {
+                    contentNode.setPosition(0, 0, getWidth(), getHeight());
+                    RecordingCanvas rc = contentNode.beginRecording();
+                    drawContent(rc, -trailDeg);
+                    contentNode.endRecording();
+                    contentDirty = false;
+                }
+                canvas.drawRenderNode(contentNode);
+            } else {
+                drawContent(canvas, -trailDeg);
+            }
+            return;
+        }
+
+        // HEAD'i “şu anki açıya” koymak için:
+        // - sweep'in HEAD'i pEnd'de olduğundan, trail kadar geri kaydırıyoruz.
+        // yön ters ise burada + / - değiştir.
+        drawContent(canvas, +(rotationDeg - trailDeg));
+    }
 
+    private void drawContent(Canvas canvas, float localRotate) {
         float cx = getWidth() / 2f;
         float cy = getHeight() / 2f;
 
@@ -144,29 +328,17 @@ public class RSLoadingCircle extends View {
         canvas.drawOval(oval, basePaint);
 
         // 2) Trail disk (HEAD önde, trail arkada)
-        if (sweep != null) {
-            // HEAD'i “şu anki açıya” koymak için:
-            // - sweep'in HEAD'i pEnd'de olduğundan, sweep'i trail kadar geri kaydırıyoruz.
-            // yön ters ise burada + / - değiştir.
-            float localRotate = +(rotationDeg - trailDeg);
-
-            sweepMatrix.reset();
-            sweepMatrix.setRotate(localRotate, cx, cy);
-
-            // ComposeShader içinde sweep var; sweep local matrix'i set edilebilir
-            // (ComposeShader setLocalMatrix yok, o yüzden sweep'i döndürmek yeterli)
-            sweep.setLocalMatrix(sweepMatrix);
-
+        if (trailShader != null) {
+            // Shader paylaşıldığı için local matrix'e dokunmuyoruz; disk simetrik,
+            // canvas'ı döndürmek sweep'i döndürmekle aynı sonucu verir
+            int save = canvas.save();
+            canvas.rotate(localRotate, cx, cy);
             canvas.drawOval(oval, trailPaint);
+            canvas.restoreToCount(save);
         }
     }
 
     // Helpers
-    private int argb(int alpha, int rgb) {
-        alpha = Math.max(0, Math.min(255, alpha));
-        return (alpha << 24) | (rgb & 0x00FFFFFF);
-    }
-
     private float clamp(float v, float mn, float mx) {
         return Math.max(mn, Math.min(mx, v));
     }
@@ -0,0 +1,121 @@
+package com.realsolutions.uikit;
+
+import android.graphics.ComposeShader;
+import android.graphics.PorterDuff;
+import android.graphics.RadialGradient;
+import android.graphics.Shader;
+import android.graphics.SweepGradient;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of RSLoadingCircle trail shaders, shared across instances.
+ *
+ * Key: (width, height, glow color, trail degrees).
+ * Cached shaders are never mutated after creation (RSLoadingCircle rotates the
+ * canvas instead of the shader's local matrix), so any number of circles can
+ * draw with the same instance.
+ *
+ * Main thread only.
+ */
+final class RSLoadingShaderCache {
+
+    private static final int MAX_ENTRIES = 16;
+
+    private static final class Key {
+        int w;
+        int h;
+        int color;
+        int trailBits;
+
+        Key set(int w, int h, int color, float trailDeg) {
+            this.w = w;
+            this.h = h;
+            this.color = color;
+            this.trailBits = Float.floatToIntBits(trailDeg);
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return w == k.w && h == k.h && color == k.color && trailBits == k.trailBits;
+        }
+
+        @Override
+        public int hashCode() {
+            int r = w;
+            r = 31 * r + h;
+            r = 31 * r + color;
+            r = 31 * r + trailBits;
+            return r;
+        }
+    }
+
+    private static final LinkedHashMap<Key, Shader> cache = new LinkedHashMap<Key, Shader>(MAX_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Shader> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    // lookups reuse one probe key, hits allocate nothing
+    private static final Key probe = new Key();
+
+    private RSLoadingShaderCache() {
+    }
+
+    static Shader get(int w, int h, int glowColor, float trailDeg) {
+        Shader shader = cache.get(probe.set(w, h, glowColor, trailDeg));
+        if (shader == null) {
+            shader = create(w, h, glowColor, trailDeg);
+            cache.put(new Key().set(w, h, glowColor, trailDeg), shader);
+        }
+        return shader;
+    }
+
+    static void clear() {
+        cache.clear();
+    }
+
+    private static Shader create(int w, int h, int glowColor, float trailDeg) {
+        float cx = w / 2f;
+        float cy = h / 2f;
+        float r = Math.min(cx, cy);
+
+        float pEnd = Math.max(0f, Math.min(1f, trailDeg / 360f));
+
+        // HEAD (en parlak) -> sonra arkaya doğru sönümlensin
+        // Not: SweepGradient 0..pEnd aralığını “trail” olarak kullanıyor.
+        // Biz HEAD'i trail'in SONUNA koyacağız (pEnd), böylece sadece arkada kalır.
+        int head = argb(255, glowColor);
+        int mid1 = argb(160, glowColor);
+        int mid2 = argb(70, glowColor);
+        int tail = argb(0, glowColor);
+
+        SweepGradient sweep = new SweepGradient(cx, cy,
+                new int[]{tail, mid2, mid1, head, 0x00000000},
+                new float[]{0f, pEnd * 0.50f, pEnd * 0.80f, pEnd, Math.min(1f, pEnd + 0.001f)}
+        );
+
+        // Delik olmaması için “kesmek” yerine merkezde biraz daha soluk yapan mask:
+        // merkez %0.55 opak, kenar %1.0 opak
+        RadialGradient radialMask = new RadialGradient(
+                cx, cy, r,
+                new int[]{0x88FFFFFF, 0xFFFFFFFF},
+                new float[]{0f, 1f},
+                Shader.TileMode.CLAMP
+        );
+
+        // Sweep + radial mask birleşimi
+        // DST_IN: sweep çizimi radial alfa ile maskelenir (delik yok, sadece merkez yumuşar)
+        return new ComposeShader(sweep, radialMask, PorterDuff.Mode.DST_IN);
+    }
+
+    private static int argb(int alpha, int rgb) {
+        alpha = Math.max(0, Math.min(255, alpha));
+        return (alpha << 24) | (rgb & 0x00FFFFFF);
+    }
+}
@@ -0,0 +1,304 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * RealSolutions UI Kit - Password Dictionary
+ *
+ * Read-only trie of common / leaked passwords used by RSPasswordInput's
+ * strength meter. The binary file is memory-mapped and walked in place:
+ * no per-word or per-node objects, lookups allocate nothing.
+ *
+ * Format (big endian):
+ *   header : int magic 'RSPT', int version, int wordCount, int rootOffset
+ *   node   : u16 (bit 15 = word ends here, bits 0-14 = edge count)
+ *            edgeCount x (u16 char, i32 child node offset), sorted by char
+ * Children are written before their parent; rootOffset points to the root.
+ * Words are stored case-folded per char, with every i variant (I, İ, ı)
+ * folded to i; lookups fold the same way.
+ *
+ * Usage:
+ *
+ * // build time (e.g. a Gradle task or a JVM unit test)
+ * RSPasswordDictionary.write(words, new FileOutputStream("src/main/assets/rs_password_dictionary.rspt"));
+ *
+ * // app: opened on a background thread, delivered on the main thread
+ * RSPasswordDictionary.obtainDefaultAsync(context, dict -> meter.setDictionary(dict));   // null if the asset is missing
+ *
+ * Notes:
+ * - Keep the asset uncompressed so it can be mapped:
+ *     android { androidResources { noCompress 'rspt' } }   (app module)
+ *   A compressed asset still works, it is read once into a direct buffer
+ * - obtain() opens the file on the calling thread; prefer obtainAsync() on the main thread
+ * - Instances are immutable and can be shared across threads
+ */
+public final class RSPasswordDictionary {
+
+    public static final String DEFAULT_ASSET = "rs_password_dictionary.rspt";
+
+    private static final int MAGIC = 0x52535054; // 'RSPT'
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int TERMINAL = 0x8000;
+    private static final int EDGE_SIZE = 6;
+
+    public interface Callback {
+        void onLoaded(@Nullable RSPasswordDictionary dictionary);
+    }
+
+    private static final Map<String, RSPasswordDictionary> opened = new HashMap<>();
+    private static final RSPasswordDictionary MISSING = new RSPasswordDictionary(null, 0, -1);
+
+    private static ExecutorService executor;
+
+    @Nullable
+    private final ByteBuffer buf;
+    private final int wordCount;
+    private final int root;
+
+    private RSPasswordDictionary(@Nullable ByteBuffer buf, int wordCount, int root) {
+        this.buf = buf;
+        this.wordCount = wordCount;
+        this.root = root;
+    }
+
+    /**
+     * The app's DEFAULT_ASSET dictionary, opened once. null if the app ships none.
+     */
+    @Nullable
+    public static RSPasswordDictionary obtainDefault(@NonNull Context context) {
+        return obtain(context, DEFAULT_ASSET);
+    }
+
+    /**
+     * obtainDefault() on a background thread, result delivered on the main thread.
+     */
+    public static void obtainDefaultAsync(@NonNull Context context, @NonNull Callback callback) {
+        obtainAsync(context, DEFAULT_ASSET, callback);
+    }
+
+    public static void obtainAsync(@NonNull Context context, @NonNull String asset, @NonNull Callback callback) {
+        // sadece asset'ler okunur: Activity'yi arka plan işine bağlama
+        Context app = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        Handler main = new Handler(Looper.getMainLooper());
+        executor().execute(() -> {
+            RSPasswordDictionary d = obtain(app, asset);
+            main.post(() -> callback.onLoaded(d));
+        });
+    }
+
+    @Nullable
+    public static synchronized RSPasswordDictionary obtain(@NonNull Context context, @NonNull String asset) {
+        RSPasswordDictionary d = opened.get(asset);
+        if (d == null) {
+            try {
+                d = fromBuffer(map(context, asset));
+            } catch (IOException e) {
+                d = MISSING;
+            }
+            opened.put(asset, d);
+        }
+        return d == MISSING ? null : d;
+    }
+
+    @NonNull
+    public static RSPasswordDictionary fromBuffer(@NonNull ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("not a password dictionary");
+        }
+        if (buffer.getInt(4) != VERSION) throw new IOException("unsupported version " + buffer.getInt(4));
+        return new RSPasswordDictionary(buffer, buffer.getInt(8), buffer.getInt(12));
+    }
+
+    private static ByteBuffer map(Context context, String asset) throws IOException {
+        try (AssetFileDescriptor fd = context.getAssets().openFd(asset);
+             FileInputStream in = fd.createInputStream()) {
+            return in.getChannel().map(FileChannel.MapMode.READ_ONLY, fd.getStartOffset(), fd.getDeclaredLength());
+        } catch (IOException compressed) {
+            // openFd sıkıştırılmış asset'te çalışmaz: doğrudan direct buffer'a aç
+            try (InputStream in = context.getAssets().open(asset)) {
+                return readDirect(in);
+            }
+        }
+    }
+
+    // AssetInputStream.available() açılmış boyutu verir: tek seferde doğru kapasite
+    static ByteBuffer readDirect(InputStream in) throws IOException {
+        ByteBuffer b = ByteBuffer.allocateDirect(Math.max(in.available(), 16 * 1024));
+        ReadableByteChannel ch = Channels.newChannel(in);
+        while (true) {
+            if (b.hasRemaining()) {
+                if (ch.read(b) < 0) break;
+                continue;
+            }
+            int next = in.read();
+            if (next < 0) break;
+            // boyut bilinmiyordu: büyüt (normalde olmaz)
+            ByteBuffer bigger = ByteBuffer.allocateDirect(b.capacity() * 2);
+            b.flip();
+            bigger.put(b).put((byte) next);
+            b = bigger;
+        }
+        b.flip();
+        return b.capacity() == b.limit() ? b : b.slice();
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Exact, case-insensitive lookup.
+     */
+    public boolean contains(@NonNull CharSequence word) {
+        int node = root();
+        for (int i = 0; i < word.length() && node >= 0; i++) {
+            node = child(node, fold(word.charAt(i)));
+        }
+        return node >= 0 && isTerminal(node);
+    }
+
+    /**
+     * Case fold used for stored words and lookups (one char in, one char out).
+     * Not RSPrefixIndex's Turkish fold: there I -> ı, and ILOVEYOU would miss
+     * "iloveyou". A password check should rather match too much than too little.
+     */
+    static char fold(char c) {
+        switch (c) {
+            case 'I':
+            case 'İ':
+            case 'ı':
+                return 'i';
+            default:
+                return Character.toLowerCase(c);
+        }
+    }
+
+    // Trie walk (offsets into the buffer; -1 = no node)
+
+    int root() {
+        return root;
+    }
+
+    boolean isTerminal(int node) {
+        return (buf.getChar(node) & TERMINAL) != 0;
+    }
+
+    int child(int node, char c) {
+        int count = buf.getChar(node) & ~TERMINAL;
+        int edges = node + 2;
+        int lo = 0;
+        int hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char e = buf.getChar(edges + mid * EDGE_SIZE);
+            if (e < c) lo = mid + 1;
+            else if (e > c) hi = mid - 1;
+            else return buf.getInt(edges + mid * EDGE_SIZE + 2);
+        }
+        return -1;
+    }
+
+    // ------------------------------------------------------------------
+    // Writer
+
+    private static final class BuildNode {
+        final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        boolean terminal;
+    }
+
+    /**
+     * Writes words (case-folded like contains(), duplicates ignored) in the dictionary format.
+     */
+    public static void write(@NonNull Iterable<String> words, @NonNull OutputStream out) throws IOException {
+        BuildNode rootNode = new BuildNode();
+        int count = 0;
+        for (String w : words) {
+            if (w == null || w.isEmpty()) continue;
+            BuildNode n = rootNode;
+            for (int i = 0; i < w.length(); i++) {
+                char c = fold(w.charAt(i));
+                BuildNode next = n.children.get(c);
+                if (next == null) {
+                    next = new BuildNode();
+                    n.children.put(c, next);
+                }
+                n = next;
+            }
+            if (!n.terminal) {
+                n.terminal = true;
+                count++;
+            }
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream bodyOut = new DataOutputStream(body);
+        int rootOffset = writeNode(rootNode, bodyOut);
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(count);
+        data.writeInt(rootOffset);
+        bodyOut.flush();
+        body.writeTo(data);
+        data.flush();
+    }
+
+    private static ExecutorService executor() {
+        synchronized (RSPasswordDictionary.class) {
+            if (executor == null) {
+                executor = Executors.newSingleThreadExecutor(r -> {
+                    Thread t = new Thread(r, "RSPasswordDictionary");
+                    t.setDaemon(true);
+                    return t;
+                });
+            }
+            return executor;
+        }
+    }
+
+    // post-order: çocuklar önce yazılır, offset'leri ebeveyn yazılırken bilinir
+    private static int writeNode(BuildNode node, DataOutputStream out) throws IOException {
+        int size = node.children.size();
+        if (size > 0x7FFF) throw new IOException("too many edges");
+        char[] chars = new char[size];
+        int[] offsets = new int[size];
+        int i = 0;
+        for (Map.Entry<Character, BuildNode> e : node.children.entrySet()) {
+            chars[i] = e.getKey();
+            offsets[i] = writeNode(e.getValue(), out);
+            i++;
+        }
+
+        int offset = HEADER_SIZE + out.size();
+        out.writeChar(size | (node.terminal ? TERMINAL : 0));
+        for (i = 0; i < size; i++) {
+            out.writeChar(chars[i]);
+            out.writeInt(offsets[i]);
+        }
+        return offset;
+    }
+}
@@ -1,13 +1,15 @@
 package com.realsolutions.uikit;
 
+import android.content.Context;
+import android.content.res.Configuration;
 import android.content.res.TypedArray;
 import android.text.Editable;
+import android.text.TextWatcher;
 import android.util.AttributeSet;
 import android.view.LayoutInflater;
 import android.widget.FrameLayout;
 
 import androidx.annotation.Nullable;
-import androidx.core.content.ContextCompat;
 
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
@@ -46,6 +48,21 @@ import com.google.android.material.textfield.TextInputLayout;
  * input.setSuccessState();
  * input.clearStatus();
  *
+ * input.setValidator(text -> text.length() >= 8     // arka planda, debounce ile
+ *         ? RSPasswordInput.STATE_SUCCESS : RSPasswordInput.STATE_ERROR);
+ *
+ * // Parola gücü (sözlük: assets/rs_password_dictionary.rspt, bkz. RSPasswordDictionary)
+ * input.setStrengthMeterEnabled(true);
+ * input.setStrengthAppliesState(true);          // zayıf -> error, güçlü -> success
+ * input.setOnStrengthChangeListener(s -> meter.setLevel(s));
+ *
+ * Usage (Java, XML inflation olmadan):
+ *
+ * RSPasswordInput input = new RSPasswordInput.Builder(context)
+ *         .setLabel("Parola")
+ *         .setHint("Parolanızı girin")
+ *         .build();
+ *
  * Requires:
  *  - Material Components
  *  - attrs.xml:
@@ -67,11 +84,40 @@ public class RSPasswordInput extends FrameLayout {
     public static final int STATE_ERROR = 2;
     public static final int STATE_SUCCESS = 3;
 
+    public interface OnStrengthChangeListener {
+
+        /**
+         * @param strength RSPasswordStrength.STRENGTH_*
+         */
+        void onStrengthChanged(int strength);
+    }
+
     private TextInputLayout til;
     private TextInputEditText et;
 
     private int state = STATE_DEFAULT;
 
+    private RSInputStateEngine engine;
+    @Nullable
+    private RSValidation validation;
+
+    // strength meter (kapalıyken null)
+    @Nullable
+    private RSPasswordStrength strength;
+    @Nullable
+    private TextWatcher strengthWatcher;
+    private int strengthToken;
+    private boolean strengthAppliesState;
+    private int lastStrength = RSPasswordStrength.STRENGTH_NONE;
+    @Nullable
+    private OnStrengthChangeListener strengthListener;
+
+    private boolean applyDeferred;
+    private final Runnable deferredApply = () -> {
+        applyDeferred = false;
+        applyState(state);
+    };
+
     public RSPasswordInput(android.content.Context context) {
         super(context);
         init(null);
@@ -87,7 +133,23 @@ public class RSPasswordInput extends FrameLayout {
         init(attrs);
     }
 
+    private RSPasswordInput(Builder builder) {
+        super(builder.context);
+        long t = RSUiKitMetrics.begin();
+        til = RSInputFactory.createInputLayout(getContext(), TextInputLayout.END_ICON_PASSWORD_TOGGLE);
+        et = RSInputFactory.createEditText(til.getContext(), true);
+        RSInputFactory.attach(this, til, et, false);
+
+        state = builder.state;
+        if (builder.label != null) til.setHint(builder.label);
+        if (builder.hint != null) til.setPlaceholderText(builder.hint);
+
+        setup();
+        RSUiKitMetrics.endInit(RSUiKitMetrics.COMPONENT_PASSWORD_INPUT, t);
+    }
+
     private void init(@Nullable AttributeSet attrs) {
+        long t = RSUiKitMetrics.begin();
         LayoutInflater.from(getContext()).inflate(R.layout.rs_password_input, this, true);
         til = findViewById(R.id.til);
         et = findViewById(R.id.et);
@@ -105,6 +167,13 @@ public class RSPasswordInput extends FrameLayout {
             if (hint != null) til.setPlaceholderText(hint);
         }
 
+        setup();
+        RSUiKitMetrics.endInit(RSUiKitMetrics.COMPONENT_PASSWORD_INPUT, t);
+    }
+
+    private void setup() {
+        engine = new RSInputStateEngine(til, RSInputPalette.obtain(getContext()), false);
+
         et.setOnFocusChangeListener((v, hasFocus) -> {
             if (hasFocus) {
                 if (state != STATE_ERROR && state != STATE_SUCCESS) setState(STATE_FOCUSED);
@@ -153,36 +222,186 @@ public class RSPasswordInput extends FrameLayout {
         setState(STATE_DEFAULT);
     }
 
+    /**
+     * Validates the text after each pause in typing (debounced), on a
+     * background thread, and applies the verdict as a single state change.
+     * Results for outdated text are dropped. null removes the validator.
+     */
+    public void setValidator(@Nullable RSValidator validator) {
+        setValidator(validator, RSValidation.DEFAULT_DEBOUNCE_MS);
+    }
+
+    public void setValidator(@Nullable RSValidator validator, long debounceMs) {
+        if (validation != null) validation.release();
+        validation = validator == null ? null : new RSValidation(et, validator, debounceMs, this::applyValidation);
+    }
+
+    /**
+     * Runs the validator for the current text without waiting for the debounce.
+     */
+    public void validate() {
+        if (validation != null) validation.validateNow();
+    }
+
+    private void applyValidation(int result) {
+        if (result == STATE_ERROR || result == STATE_SUCCESS) {
+            setState(result);
+        } else {
+            // karar yok: durumu temizle, fokus görünümü korunur
+            setState(et.hasFocus() ? STATE_FOCUSED : STATE_DEFAULT);
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        if (validation != null) validation.cancel();
+        super.onDetachedFromWindow();
+    }
+
+    /**
+     * Strength meter backed by the app's RSPasswordDictionary.DEFAULT_ASSET
+     * (length / character classes only if the app ships no dictionary).
+     * The dictionary is opened off the main thread and joins the meter when
+     * it arrives. Updated incrementally on every keystroke.
+     */
+    public void setStrengthMeterEnabled(boolean enabled) {
+        setStrengthDictionary(null, enabled);
+        if (!enabled) return;
+        // sözlük arka planda açılır; gelene kadar sadece uzunluk / karakter sınıfları
+        final int token = strengthToken;
+        RSPasswordDictionary.obtainDefaultAsync(getContext(), dictionary -> {
+            if (dictionary != null && token == strengthToken) setStrengthDictionary(dictionary, true);
+        });
+    }
+
+    public void setStrengthDictionary(@Nullable RSPasswordDictionary dictionary, boolean enabled) {
+        // bekleyen obtainDefaultAsync sonucu artık geçersiz
+        strengthToken++;
+        if (strengthWatcher != null) {
+            et.removeTextChangedListener(strengthWatcher);
+            strengthWatcher = null;
+            strength = null;
+        }
+        lastStrength = RSPasswordStrength.STRENGTH_NONE;
+        if (!enabled) return;
+
+        final RSPasswordStrength estimator = new RSPasswordStrength(dictionary);
+        strength = estimator;
+        strengthWatcher = new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+                onStrength(estimator.update(s, start));
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+            }
+        };
+        et.addTextChangedListener(strengthWatcher);
+        Editable text = et.getText();
+        if (text != null) onStrength(estimator.update(text, 0));
+    }
+
+    /**
+     * Maps strength onto the input states: very weak / weak -> STATE_ERROR,
+     * strong -> STATE_SUCCESS, otherwise the normal (focused / default) look.
+     */
+    public void setStrengthAppliesState(boolean apply) {
+        strengthAppliesState = apply;
+    }
+
+    public void setOnStrengthChangeListener(@Nullable OnStrengthChangeListener listener) {
+        strengthListener = listener;
+    }
+
+    /**
+     * RSPasswordStrength.STRENGTH_*, STRENGTH_NONE when the meter is off or the input is empty.
+     */
+    public int getStrength() {
+        return lastStrength;
+    }
+
+    private void onStrength(int value) {
+        if (value == lastStrength) return;
+        lastStrength = value;
+
+        if (strengthAppliesState) {
+            if (value == RSPasswordStrength.STRENGTH_VERY_WEAK || value == RSPasswordStrength.STRENGTH_WEAK) {
+                setState(STATE_ERROR);
+            } else if (value == RSPasswordStrength.STRENGTH_STRONG) {
+                setState(STATE_SUCCESS);
+            } else {
+                setState(et.hasFocus() ? STATE_FOCUSED : STATE_DEFAULT);
+            }
+        }
+        if (strengthListener != null) strengthListener.onStrengthChanged(value);
+    }
+
+    @Override
+    protected void onConfigurationChanged(Configuration newConfig) {
+        super.onConfigurationChanged(newConfig);
+        // light <-> night: palette is re-resolved once and shared by all inputs
+        engine.setPalette(RSInputPalette.obtain(getContext()));
+        applyState(state);
+    }
+
     private void applyState(int st) {
-        switch (st) {
-            case STATE_FOCUSED:
-                til.setBoxStrokeColor(ContextCompat.getColor(getContext(), R.color.rs_input_stroke_focused));
-                til.setHintTextColor(ContextCompat.getColorStateList(getContext(), R.color.rs_input_label_focused));
-                til.setBoxBackgroundColor(ContextCompat.getColor(getContext(), R.color.rs_input_bg_focused));
-                til.setEndIconTintList(ContextCompat.getColorStateList(getContext(), R.color.rs_input_icon_default));
-                break;
-
-            case STATE_ERROR:
-                til.setBoxStrokeColor(ContextCompat.getColor(getContext(), R.color.rs_input_stroke_error));
-                til.setHintTextColor(ContextCompat.getColorStateList(getContext(), R.color.rs_input_label_error));
-                til.setBoxBackgroundColor(ContextCompat.getColor(getContext(), R.color.rs_input_bg));
-                til.setEndIconTintList(ContextCompat.getColorStateList(getContext(), R.color.rs_input_icon_default));
-                break;
-
-            case STATE_SUCCESS:
-                til.setBoxStrokeColor(ContextCompat.getColor(getContext(), R.color.rs_input_stroke_success));
-                til.setHintTextColor(ContextCompat.getColorStateList(getContext(), R.color.rs_input_label_default));
-                til.setBoxBackgroundColor(ContextCompat.getColor(getContext(), R.color.rs_input_bg));
-                til.setEndIconTintList(ContextCompat.getColorStateList(getContext(), R.color.rs_input_icon_default));
-                break;
-
-            case STATE_DEFAULT:
-            default:
-                til.setBoxStrokeColor(ContextCompat.getColor(getContext(), R.color.rs_input_stroke_default));
-                til.setHintTextColor(ContextCompat.getColorStateList(getContext(), R.color.rs_input_label_default));
-                til.setBoxBackgroundColor(ContextCompat.getColor(getContext(), R.color.rs_input_bg));
-                til.setEndIconTintList(ContextCompat.getColorStateList(getContext(), R.color.rs_input_icon_default));
-                break;
+        // RSUiKit.batch içinde: bir sonraki frame'de, son state ile bir kez uygulanır
+        if (RSUiKit.isBatching()) {
+            if (!applyDeferred) {
+                applyDeferred = true;
+                RSUiKit.defer(deferredApply);
+            }
+            return;
+        }
+        long t = RSUiKitMetrics.begin();
+        engine.apply(st);
+        RSUiKitMetrics.endState(RSUiKitMetrics.COMPONENT_PASSWORD_INPUT, st, t);
+    }
+
+    /**
+     * Number of TextInputLayout property writes done by state changes.
+     * Re-applying the current state does not increase it.
+     */
+    int getStateWriteCount() {
+        return engine.getWriteCount();
+    }
+
+    /**
+     * rs_password_input.xml inflate etmeden RSPasswordInput oluşturur.
+     */
+    public static class Builder {
+
+        private final Context context;
+        private String label;
+        private String hint;
+        private int state = STATE_DEFAULT;
+
+        public Builder(Context context) {
+            this.context = context;
+        }
+
+        public Builder setLabel(String label) {
+            this.label = label;
+            return this;
+        }
+
+        public Builder setHint(String hint) {
+            this.hint = hint;
+            return this;
+        }
+
+        public Builder setState(int state) {
+            this.state = state;
+            return this;
+        }
+
+        public RSPasswordInput build() {
+            return new RSPasswordInput(this);
         }
     }
 }
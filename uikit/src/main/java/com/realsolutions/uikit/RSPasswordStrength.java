@@ -0,0 +1,142 @@
+package com.realsolutions.uikit;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Incremental password strength estimator used by RSPasswordInput.
+ *
+ * State is kept per prefix length, so an edit only re-feeds the characters
+ * from the edit position on:
+ * - typing at the end      : O(length) trie steps
+ * - backspace at the end   : O(1), the previous prefix state is reused
+ * - edit in the middle     : re-feeds from that position
+ *
+ * For every start position the current trie node is tracked, which gives the
+ * longest dictionary word contained in the password without rescanning it.
+ *
+ * Score: bits = (length - longestMatch) * log2(charset) + (match ? log2(words) : 0)
+ * A password that is itself a dictionary word is always STRENGTH_VERY_WEAK.
+ *
+ * Fixed-size buffers, nothing is allocated per keystroke. Main thread only.
+ */
+public final class RSPasswordStrength {
+
+    public static final int STRENGTH_NONE = -1;      // empty
+    public static final int STRENGTH_VERY_WEAK = 0;
+    public static final int STRENGTH_WEAK = 1;
+    public static final int STRENGTH_MEDIUM = 2;
+    public static final int STRENGTH_STRONG = 3;
+
+    // bu uzunluktan sonrası sadece uzunluk olarak sayılır
+    static final int MAX_TRACKED = 64;
+
+    private static final int CLASS_LOWER = 1;
+    private static final int CLASS_UPPER = 2;
+    private static final int CLASS_DIGIT = 4;
+    private static final int CLASS_SYMBOL = 8;
+
+    @Nullable
+    private final RSPasswordDictionary dict;
+    private final double wordBits;
+
+    // prefix length L -> state after consuming chars [0, L)
+    // nodes[L][i] : trie node for chars [i, L), -1 dead
+    private final int[][] nodes = new int[MAX_TRACKED + 1][];
+    private final int[] longest = new int[MAX_TRACKED + 1];
+    private final int[] classes = new int[MAX_TRACKED + 1];
+    private int fed;        // tracked prefix length
+    private int length;     // full text length
+
+    public RSPasswordStrength(@Nullable RSPasswordDictionary dict) {
+        this.dict = dict;
+        this.wordBits = dict == null || dict.getWordCount() < 2 ? 0 : log2(dict.getWordCount());
+        for (int l = 0; l <= MAX_TRACKED; l++) nodes[l] = new int[Math.max(1, l)];
+    }
+
+    /**
+     * Text changed from index start on (TextWatcher.onTextChanged start).
+     *
+     * @return new strength
+     */
+    public int update(@NonNull CharSequence text, int start) {
+        length = text.length();
+        int keep = Math.max(0, Math.min(start, fed));
+        int target = Math.min(length, MAX_TRACKED);
+        fed = Math.min(keep, target);
+        while (fed < target) feed(text.charAt(fed));
+        return getStrength();
+    }
+
+    public void reset() {
+        fed = 0;
+        length = 0;
+    }
+
+    /**
+     * Longest dictionary word inside the current text (0 if none).
+     */
+    public int getLongestMatch() {
+        return longest[fed];
+    }
+
+    public boolean isDictionaryWord() {
+        return dict != null && fed > 0 && fed == length
+                && nodes[fed][0] >= 0 && dict.isTerminal(nodes[fed][0]);
+    }
+
+    public int getStrength() {
+        if (length == 0) return STRENGTH_NONE;
+        if (isDictionaryWord()) return STRENGTH_VERY_WEAK;
+
+        int match = longest[fed];
+        double bits = (length - match) * log2(charset(classes[fed])) + (match > 0 ? wordBits : 0);
+
+        if (bits < 28) return STRENGTH_VERY_WEAK;
+        if (bits < 40) return STRENGTH_WEAK;
+        if (bits < 60) return STRENGTH_MEDIUM;
+        return STRENGTH_STRONG;
+    }
+
+    private void feed(char raw) {
+        final int l = fed;
+        final char c = RSPasswordDictionary.fold(raw);
+        final int[] from = nodes[l];
+        final int[] to = nodes[l + 1];
+
+        int best = longest[l];
+        if (dict != null) {
+            for (int i = 0; i <= l; i++) {
+                int node = i < l ? from[i] : dict.root();
+                if (node >= 0) {
+                    node = dict.child(node, c);
+                    if (node >= 0 && dict.isTerminal(node) && l + 1 - i > best) best = l + 1 - i;
+                }
+                to[i] = node;
+            }
+        }
+        longest[l + 1] = best;
+        classes[l + 1] = classes[l] | classOf(raw);
+        fed = l + 1;
+    }
+
+    private static int classOf(char c) {
+        if (Character.isLowerCase(c)) return CLASS_LOWER;
+        if (Character.isUpperCase(c)) return CLASS_UPPER;
+        if (Character.isDigit(c)) return CLASS_DIGIT;
+        return CLASS_SYMBOL;
+    }
+
+    private static int charset(int classes) {
+        int n = 0;
+        if ((classes & CLASS_LOWER) != 0) n += 26;
+        if ((classes & CLASS_UPPER) != 0) n += 26;
+        if ((classes & CLASS_DIGIT) != 0) n += 10;
+        if ((classes & CLASS_SYMBOL) != 0) n += 33;
+        return Math.max(n, 2);
+    }
+
+    private static double log2(double v) {
+        return Math.log(v) / Math.log(2);
+    }
+}
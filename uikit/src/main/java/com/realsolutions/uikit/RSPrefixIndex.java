@@ -0,0 +1,228 @@
+package com.realsolutions.uikit;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * RealSolutions UI Kit - Prefix Index
+ *
+ * Immutable prefix index over a large catalog (station codes, personnel
+ * names ...) for RSEditText autocomplete.
+ *
+ * Layout (all primitive arrays):
+ * - chars   : folded keys, sorted, concatenated
+ * - offsets : start of sorted key i in chars (offsets[n] = end)
+ * - ids     : original entry index of sorted key i
+ *
+ * A query folds the prefix into a reused buffer, binary searches the first
+ * key >= prefix and copies up to out.length ids while keys keep matching:
+ * O(log n + k), nothing allocated.
+ *
+ * Folding:
+ * - always : Turkish-aware lower case (I -> ı, İ -> i)
+ * - FOLD_ASCII : also ı/İ -> i, ş -> s, ğ -> g, ü -> u, ö -> o, ç -> c, â î û -> a i u
+ *   ("sisli" finds "Şişli")
+ *
+ * Usage:
+ *
+ * RSPrefixIndex.buildAsync(stations, RSPrefixIndex.FOLD_ASCII, index -> input.setAutocomplete(index));
+ *
+ * int[] ids = new int[8];
+ * int n = index.query("kad", ids);          // ids[0..n) -> index.getEntry(id)
+ *
+ * Notes:
+ * - build() is slow (sort), call it off the main thread or use buildAsync()
+ * - query() uses an internal buffer: one thread at a time (main thread)
+ */
+public final class RSPrefixIndex {
+
+    public static final int FOLD_CASE = 0;
+    public static final int FOLD_ASCII = 1;
+
+    public interface Callback {
+        void onBuilt(@NonNull RSPrefixIndex index);
+    }
+
+    private static ExecutorService executor;
+
+    private final String[] entries;
+    private final int flags;
+    private final char[] chars;
+    private final int[] offsets;
+    private final int[] ids;
+
+    private char[] scratch = new char[32];
+
+    private RSPrefixIndex(String[] entries, int flags, char[] chars, int[] offsets, int[] ids) {
+        this.entries = entries;
+        this.flags = flags;
+        this.chars = chars;
+        this.offsets = offsets;
+        this.ids = ids;
+    }
+
+    /**
+     * Builds on a background thread, delivers on the main thread.
+     */
+    public static void buildAsync(@NonNull String[] entries, int flags, @NonNull Callback callback) {
+        Handler main = new Handler(Looper.getMainLooper());
+        executor().execute(() -> {
+            RSPrefixIndex index = build(entries, flags);
+            main.post(() -> callback.onBuilt(index));
+        });
+    }
+
+    @NonNull
+    public static RSPrefixIndex build(@NonNull String[] entries, int flags) {
+        int n = entries.length;
+        String[] folded = new String[n];
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            folded[i] = fold(entries[i], flags);
+            total += folded[i].length();
+        }
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        sort(order, folded);
+
+        char[] chars = new char[total];
+        int[] offsets = new int[n + 1];
+        int pos = 0;
+        for (int i = 0; i < n; i++) {
+            String key = folded[order[i]];
+            offsets[i] = pos;
+            key.getChars(0, key.length(), chars, pos);
+            pos += key.length();
+        }
+        offsets[n] = pos;
+        return new RSPrefixIndex(entries, flags, chars, offsets, order);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public String getEntry(int id) {
+        return entries[id];
+    }
+
+    /**
+     * Writes up to out.length entry ids whose folded key starts with the
+     * folded prefix, in key order.
+     *
+     * @return number of ids written
+     */
+    public int query(@NonNull CharSequence prefix, @NonNull int[] out) {
+        int m = prefix.length();
+        if (m == 0 || out.length == 0) return 0;
+        if (scratch.length < m) scratch = new char[Math.max(m, scratch.length * 2)];
+        for (int i = 0; i < m; i++) scratch[i] = fold(prefix.charAt(i), flags);
+
+        // ilk key >= prefix
+        int lo = 0;
+        int hi = ids.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(mid, m) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+
+        int count = 0;
+        for (int p = lo; p < ids.length && count < out.length && startsWith(p, m); p++) {
+            out[count++] = ids[p];
+        }
+        return count;
+    }
+
+    // key[p] ile scratch[0, m) karşılaştırması; prefix'i içeren key'ler >= 0
+    private int compare(int p, int m) {
+        int start = offsets[p];
+        int len = offsets[p + 1] - start;
+        int n = Math.min(len, m);
+        for (int i = 0; i < n; i++) {
+            int d = chars[start + i] - scratch[i];
+            if (d != 0) return d;
+        }
+        return len >= m ? 0 : -1;
+    }
+
+    private boolean startsWith(int p, int m) {
+        int start = offsets[p];
+        if (offsets[p + 1] - start < m) return false;
+        for (int i = 0; i < m; i++) {
+            if (chars[start + i] != scratch[i]) return false;
+        }
+        return true;
+    }
+
+    // ------------------------------------------------------------------
+
+    static String fold(String s, int flags) {
+        char[] c = s.toCharArray();
+        for (int i = 0; i < c.length; i++) c[i] = fold(c[i], flags);
+        return new String(c);
+    }
+
+    static char fold(char c, int flags) {
+        // Türkçe büyük/küçük harf: Locale("tr") kurallarıyla aynı, karakter bazında
+        switch (c) {
+            case 'I': c = 'ı'; break;
+            case 'İ': c = 'i'; break;
+            default: c = Character.toLowerCase(c); break;
+        }
+        if ((flags & FOLD_ASCII) != 0) {
+            switch (c) {
+                case 'ı': return 'i';
+                case 'ş': return 's';
+                case 'ğ': return 'g';
+                case 'ü': return 'u';
+                case 'ö': return 'o';
+                case 'ç': return 'c';
+                case 'â': return 'a';
+                case 'î': return 'i';
+                case 'û': return 'u';
+                default: return c;
+            }
+        }
+        return c;
+    }
+
+    // int[] merge sort, key = keys[id] (Integer kutulama yok, stabil)
+    private static void sort(int[] a, String[] keys) {
+        int n = a.length;
+        int[] tmp = new int[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int lo = 0; lo < n - width; lo += 2 * width) {
+                int mid = lo + width;
+                int hi = Math.min(lo + 2 * width, n);
+                if (keys[a[mid - 1]].compareTo(keys[a[mid]]) <= 0) continue;
+                System.arraycopy(a, lo, tmp, lo, hi - lo);
+                int i = lo, j = mid, k = lo;
+                while (i < mid && j < hi) {
+                    a[k++] = keys[tmp[i]].compareTo(keys[tmp[j]]) <= 0 ? tmp[i++] : tmp[j++];
+                }
+                while (i < mid) a[k++] = tmp[i++];
+                while (j < hi) a[k++] = tmp[j++];
+            }
+        }
+    }
+
+    private static ExecutorService executor() {
+        synchronized (RSPrefixIndex.class) {
+            if (executor == null) {
+                executor = Executors.newSingleThreadExecutor(r -> {
+                    Thread t = new Thread(r, "RSPrefixIndex");
+                    t.setDaemon(true);
+                    return t;
+                });
+            }
+            return executor;
+        }
+    }
+}
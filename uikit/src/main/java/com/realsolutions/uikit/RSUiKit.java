@@ -0,0 +1,108 @@
+package com.realsolutions.uikit;
+
+import android.os.Looper;
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+
+/**
+ * RealSolutions UI Kit - Batch updates
+ *
+ * Collects state changes of many components and applies them together on
+ * the next frame, right before that frame's traversal. Android already
+ * coalesces requestLayout() / invalidate() into one traversal per frame; what
+ * the batch saves is the redundant work between them: a component changed
+ * several times writes its properties (colors, stroke, icon, drawable state)
+ * once, with its last value, instead of once per call.
+ *
+ * Usage (Java):
+ *
+ * RSUiKit.batch(() -> {
+ *     sicil.setErrorState(null);
+ *     parola.setSuccessState();
+ *     for (RSCheckBox cb : boxes) cb.setStatus(RSCheckBox.STATUS_CHECKED);
+ * });
+ *
+ * // or, across method boundaries
+ * RSUiKit.beginBatch();
+ * try { ... } finally { RSUiKit.endBatch(); }
+ *
+ * Deferred inside a batch:
+ * - RSEditText / RSPasswordInput state application (setState, setErrorState,
+ *   setSuccessState, clearStatus)
+ * - RSCheckBox drawable state refresh (setStatus / setChecked); the checked
+ *   flag and OnCheckedChangeListener are updated immediately
+ *
+ * Notes:
+ * - getState() / getStatus() / isChecked() return the new value immediately;
+ *   only the visual application waits for the frame
+ * - A component changed several times in a batch is applied once, with its last value
+ * - Batches nest; the outermost endBatch() schedules the frame
+ * - flush() applies pending changes immediately (e.g. before a screenshot)
+ * - Main thread only; views built off the main thread (RSViewPool.prefill)
+ *   never see a batch and apply their state directly
+ */
+public final class RSUiKit {
+
+    private static int depth;
+    private static final ArrayList<Runnable> pending = new ArrayList<>();
+    private static boolean posted;
+
+    private static final Choreographer.FrameCallback frame = frameTimeNanos -> {
+        posted = false;
+        flush();
+    };
+
+    private RSUiKit() {
+    }
+
+    public static void batch(@NonNull Runnable changes) {
+        beginBatch();
+        try {
+            changes.run();
+        } finally {
+            endBatch();
+        }
+    }
+
+    public static void beginBatch() {
+        depth++;
+    }
+
+    public static void endBatch() {
+        if (depth == 0) throw new IllegalStateException("endBatch() without beginBatch()");
+        if (--depth > 0 || pending.isEmpty() || posted) return;
+        posted = true;
+        Choreographer.getInstance().postFrameCallback(frame);
+    }
+
+    public static boolean isBatching() {
+        // arka plan thread'inde oluşturulan view'lar main thread'in kuyruğuna yazmasın
+        return depth > 0 && Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    /**
+     * Applies everything collected so far, now.
+     */
+    public static void flush() {
+        if (posted) {
+            posted = false;
+            Choreographer.getInstance().removeFrameCallback(frame);
+        }
+        // apply sırasında yeni kayıt eklenebilir (iç içe batch): index ile dolaş
+        for (int i = 0; i < pending.size(); i++) {
+            pending.get(i).run();
+        }
+        pending.clear();
+    }
+
+    /**
+     * Queues a component's apply step for the batch frame. Callers guard
+     * against queuing themselves twice.
+     */
+    static void defer(@NonNull Runnable apply) {
+        pending.add(apply);
+    }
+}
@@ -0,0 +1,158 @@
+package com.realsolutions.uikit;
+
+import android.os.SystemClock;
+
+import androidx.annotation.Nullable;
+
+/**
+ * RealSolutions UI Kit - Metrics
+ *
+ * Opt-in performance numbers from the kit's components, forwarded to an app
+ * supplied Listener (e.g. your own telemetry).
+ *
+ * Reported:
+ * - onInit        : component init time (after the framework super constructor)
+ * - onStateApplied: applyState / applyType / setStatus duration
+ * - onDraw        : onDraw duration (RSLoadingCircle, RSGridBackgroundView)
+ * - onRates       : frames rendered and invalidations per window (default 1 s)
+ *
+ * Usage:
+ *
+ * RSUiKitMetrics.setListener(new RSUiKitMetrics.Listener() { ... }, 10); // 1 of 10 timings
+ * ...
+ * RSUiKitMetrics.setListener(null);                                       // off
+ *
+ * Notes:
+ * - No listener: every hook is a static volatile read and a return; nothing
+ *   is allocated and System.nanoTime() is not called
+ * - Sampling applies to timings (1 of every sampleEvery events);
+ *   rate counters are always exact while a listener is installed
+ * - Callbacks take primitives only and run synchronously on the main thread;
+ *   keep them cheap (aggregate, hand off to a background queue)
+ * - Exception: views pre-created by RSViewPool report onInit from the pool's
+ *   background thread
+ */
+public final class RSUiKitMetrics {
+
+    public static final int COMPONENT_EDIT_TEXT = 0;
+    public static final int COMPONENT_PASSWORD_INPUT = 1;
+    public static final int COMPONENT_BUTTON = 2;
+    public static final int COMPONENT_CHECKBOX = 3;
+    public static final int COMPONENT_LOADING_CIRCLE = 4;
+    public static final int COMPONENT_GRID = 5;
+
+    static final int COMPONENT_COUNT = 6;
+
+    public interface Listener {
+
+        void onInit(int component, long durationNanos);
+
+        /**
+         * @param value new state / type / status
+         */
+        void onStateApplied(int component, int value, long durationNanos);
+
+        void onDraw(int component, long durationNanos);
+
+        /**
+         * Totals for all instances of a component during the last window.
+         * Only sent for components that drew or invalidated in that window.
+         */
+        void onRates(int component, int frames, int invalidations, long windowMs);
+    }
+
+    @Nullable
+    private static volatile Listener listener;
+    private static volatile int sampleEvery = 1;
+    private static volatile long windowMs = 1000L;
+
+    // main thread only
+    private static int sampleCounter;
+    private static final int[] frames = new int[COMPONENT_COUNT];
+    private static final int[] invalidations = new int[COMPONENT_COUNT];
+    private static long windowStartMs;
+
+    private RSUiKitMetrics() {
+    }
+
+    public static void setListener(@Nullable Listener l) {
+        setListener(l, 1);
+    }
+
+    /**
+     * @param sampleEvery report one of every sampleEvery timings (1 = all)
+     */
+    public static void setListener(@Nullable Listener l, int sampleEvery) {
+        RSUiKitMetrics.sampleEvery = Math.max(1, sampleEvery);
+        for (int i = 0; i < COMPONENT_COUNT; i++) {
+            frames[i] = 0;
+            invalidations[i] = 0;
+        }
+        windowStartMs = SystemClock.uptimeMillis();
+        listener = l;
+    }
+
+    public static void setRateWindowMs(long ms) {
+        windowMs = Math.max(100L, ms);
+    }
+
+    public static boolean isEnabled() {
+        return listener != null;
+    }
+
+    // Component hooks
+    // begin() -> 0 when off or not sampled, so end*() knows to skip
+
+    static long begin() {
+        if (listener == null) return 0L;
+        int every = sampleEvery;
+        if (every > 1 && (++sampleCounter % every) != 0) return 0L;
+        return System.nanoTime();
+    }
+
+    static void endInit(int component, long start) {
+        if (start == 0L) return;
+        Listener l = listener;
+        if (l != null) l.onInit(component, System.nanoTime() - start);
+    }
+
+    static void endState(int component, int value, long start) {
+        if (start == 0L) return;
+        Listener l = listener;
+        if (l != null) l.onStateApplied(component, value, System.nanoTime() - start);
+    }
+
+    static void endDraw(int component, long start) {
+        if (start == 0L) return;
+        Listener l = listener;
+        if (l != null) l.onDraw(component, System.nanoTime() - start);
+    }
+
+    static void countFrame(int component) {
+        if (listener == null) return;
+        frames[component]++;
+        maybeFlush();
+    }
+
+    static void countInvalidate(int component) {
+        if (listener == null) return;
+        invalidations[component]++;
+        maybeFlush();
+    }
+
+    private static void maybeFlush() {
+        long now = SystemClock.uptimeMillis();
+        long elapsed = now - windowStartMs;
+        if (elapsed < windowMs) return;
+        windowStartMs = now;
+
+        Listener l = listener;
+        for (int i = 0; i < COMPONENT_COUNT; i++) {
+            int f = frames[i];
+            int inv = invalidations[i];
+            frames[i] = 0;
+            invalidations[i] = 0;
+            if (l != null && (f != 0 || inv != 0)) l.onRates(i, f, inv, elapsed);
+        }
+    }
+}
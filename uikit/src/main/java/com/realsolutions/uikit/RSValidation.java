@@ -0,0 +1,131 @@
+package com.realsolutions.uikit;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.widget.EditText;
+
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Debounced validation pipeline used by RSEditText and RSPasswordInput.
+ *
+ * keystrokes -> (debounce, coalesce) -> validator on background thread
+ *            -> result posted to main thread, dropped if the text changed meanwhile
+ *
+ * Each keystroke bumps a generation counter; a result is applied only if
+ * its generation is still the latest, so the view gets one state
+ * transition for the final text.
+ */
+final class RSValidation implements TextWatcher {
+
+    static final long DEFAULT_DEBOUNCE_MS = 250L;
+
+    interface Target {
+        void onValidated(int state);
+    }
+
+    // tüm input'lar tek validator thread'i paylaşır
+    private static ExecutorService executor;
+    // testler: senkron / elle sürülen executor
+    @Nullable
+    private static Executor override;
+    private static final Handler main = new Handler(Looper.getMainLooper());
+
+    private final EditText editText;
+    private final Target target;
+    private final RSValidator validator;
+    private final long debounceMs;
+
+    // main thread only; background tasks read the captured copy
+    private int generation;
+
+    private final Runnable dispatch = this::dispatch;
+
+    RSValidation(EditText editText, RSValidator validator, long debounceMs, Target target) {
+        this.editText = editText;
+        this.validator = validator;
+        this.debounceMs = Math.max(0L, debounceMs);
+        this.target = target;
+        editText.addTextChangedListener(this);
+    }
+
+    void release() {
+        cancel();
+        editText.removeTextChangedListener(this);
+    }
+
+    /**
+     * Drops the pending debounce and any result still in flight.
+     */
+    void cancel() {
+        generation++;
+        main.removeCallbacks(dispatch);
+    }
+
+    /**
+     * Validates the current text now (no debounce), e.g. on submit.
+     */
+    void validateNow() {
+        cancel();
+        dispatch();
+    }
+
+    @Override
+    public void afterTextChanged(Editable s) {
+        // yeni metin: eski sonuçlar geçersiz, debounce yeniden başlar
+        cancel();
+        main.postDelayed(dispatch, debounceMs);
+    }
+
+    @Override
+    public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+    }
+
+    @Override
+    public void onTextChanged(CharSequence s, int start, int before, int count) {
+    }
+
+    private void dispatch() {
+        final int gen = generation;
+        final String text = editText.getText() == null ? "" : editText.getText().toString();
+
+        executor().execute(() -> {
+            int state;
+            try {
+                state = validator.validate(text);
+            } catch (RuntimeException e) {
+                // hatalı validator input'u kilitlemesin: sonucu yok say
+                return;
+            }
+            main.post(() -> {
+                if (gen == generation) target.onValidated(state);
+            });
+        });
+    }
+
+    /**
+     * Runs validators on the given executor instead of the shared thread
+     * (tests use a synchronous or manually drained one). null restores it.
+     */
+    static void setExecutor(@Nullable Executor e) {
+        override = e;
+    }
+
+    private static Executor executor() {
+        if (override != null) return override;
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "RSValidation");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,22 @@
+package com.realsolutions.uikit;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+/**
+ * Input validator for RSEditText / RSPasswordInput.
+ *
+ * Runs on a background thread, so it may be slow (checksums, regex,
+ * local DB lookups). Must not touch views.
+ *
+ * Return one of:
+ * - STATE_DEFAULT : no verdict (e.g. empty / incomplete input)
+ * - STATE_ERROR
+ * - STATE_SUCCESS
+ * (RSEditText.STATE_* and RSPasswordInput.STATE_* share the same values)
+ */
+public interface RSValidator {
+
+    @WorkerThread
+    int validate(@NonNull String text);
+}
@@ -0,0 +1,279 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * RealSolutions UI Kit - View Pool
+ *
+ * Pre-creates kit components on a background thread (like AsyncLayoutInflater,
+ * but through the components' builders, no XML) and hands them out ready on
+ * the main thread.
+ *
+ * Usage:
+ *
+ * // before navigating to a big form
+ * RSViewPool pool = new RSViewPool(activity);
+ * pool.prefill(RSViewPool.TYPE_EDIT_TEXT, 40);
+ * pool.prefill(RSViewPool.TYPE_CHECKBOX, 20);
+ *
+ * // while building the form
+ * RSEditText input = pool.obtainEditText();   // pooled or created now
+ * input.setLabel("Sicil No");
+ *
+ * // when the form goes away (views must be detached)
+ * pool.release(input);                        // text / state cleared, kept for reuse
+ *
+ * Notes:
+ * - Use a themed (Activity) context: pooled views keep it
+ * - obtain* / release / prefill: main thread only
+ * - Shared caches a type needs (input palette, button styles, checkbox
+ *   drawables) are resolved on the main thread before prefill() dispatches;
+ *   views created in the background never join an RSUiKit batch
+ * - Background creation that fails (a view needing a Looper etc.) falls back
+ *   to the main thread, as AsyncLayoutInflater does
+ * - release() clears everything set on the view: text, label, hint, state,
+ *   validator, mask, autocomplete, strength meter and listeners
+ * - Per type capacity (default 16) bounds both prefill and release
+ */
+public final class RSViewPool {
+
+    public static final int TYPE_EDIT_TEXT = 0;
+    public static final int TYPE_PASSWORD_INPUT = 1;
+    public static final int TYPE_CHECKBOX = 2;
+    public static final int TYPE_BUTTON = 3;
+
+    private static final int TYPE_COUNT = 4;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // tüm pool'lar tek arka plan thread'i paylaşır
+    private static ExecutorService executor;
+
+    private final Context context;
+    private final Executor background;
+    private final Handler main = new Handler(Looper.getMainLooper());
+
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<View>[] free = new ArrayDeque[TYPE_COUNT];
+    private final int[] capacity = new int[TYPE_COUNT];
+    private final int[] pending = new int[TYPE_COUNT];
+
+    // clear() sonrası gelen eski arka plan sonuçlarını at
+    private int generation;
+
+    public RSViewPool(@NonNull Context context) {
+        this(context, executor());
+    }
+
+    // testler için: arka plan işleri verilen executor'da çalışır
+    RSViewPool(@NonNull Context context, @NonNull Executor background) {
+        this.context = context;
+        this.background = background;
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            free[i] = new ArrayDeque<>();
+            capacity[i] = DEFAULT_CAPACITY;
+        }
+    }
+
+    public RSViewPool setCapacity(int type, int max) {
+        capacity[type] = Math.max(0, max);
+        while (free[type].size() > capacity[type]) free[type].pollLast();
+        return this;
+    }
+
+    public int getAvailable(int type) {
+        return free[type].size();
+    }
+
+    /**
+     * Creates up to count instances of type in the background (bounded by
+     * capacity, counting idle and already scheduled ones).
+     */
+    public void prefill(int type, int count) {
+        int n = Math.min(count, capacity[type] - free[type].size() - pending[type]);
+        if (n <= 0) return;
+        pending[type] += n;
+        warmUp(type);
+
+        final int gen = generation;
+        for (int i = 0; i < n; i++) {
+            background.execute(() -> {
+                View v;
+                try {
+                    v = create(type);
+                } catch (RuntimeException e) {
+                    v = null;
+                }
+                final View created = v;
+                main.post(() -> onCreated(type, created, gen));
+            });
+        }
+    }
+
+    private void onCreated(int type, View v, int gen) {
+        if (gen != generation) return;
+        pending[type]--;
+        if (v == null) v = create(type);
+        if (free[type].size() < capacity[type]) free[type].offerLast(v);
+    }
+
+    public RSEditText obtainEditText() {
+        return (RSEditText) obtain(TYPE_EDIT_TEXT);
+    }
+
+    public RSPasswordInput obtainPasswordInput() {
+        return (RSPasswordInput) obtain(TYPE_PASSWORD_INPUT);
+    }
+
+    public RSCheckBox obtainCheckBox() {
+        return (RSCheckBox) obtain(TYPE_CHECKBOX);
+    }
+
+    public RSButton obtainButton() {
+        return (RSButton) obtain(TYPE_BUTTON);
+    }
+
+    private View obtain(int type) {
+        View v = free[type].pollFirst();
+        return v != null ? v : create(type);
+    }
+
+    /**
+     * Resets a detached kit view and keeps it for the next obtain*().
+     *
+     * @return false if the pool for its type is full (view dropped)
+     */
+    public boolean release(@NonNull View view) {
+        if (view.getParent() != null) {
+            throw new IllegalStateException("remove the view from its parent before release()");
+        }
+        int type = typeOf(view);
+        reset(type, view);
+        if (free[type].size() >= capacity[type]) return false;
+        free[type].offerLast(view);
+        return true;
+    }
+
+    /**
+     * Drops idle instances and ignores background work still in flight.
+     */
+    public void clear() {
+        generation++;
+        for (int i = 0; i < TYPE_COUNT; i++) {
+            free[i].clear();
+            pending[i] = 0;
+        }
+    }
+
+    // ------------------------------------------------------------------
+
+    // paylaşılan cache'leri main thread'de çöz: arka plan sadece okur
+    private void warmUp(int type) {
+        switch (type) {
+            case TYPE_EDIT_TEXT:
+            case TYPE_PASSWORD_INPUT:
+                RSInputPalette.obtain(context);
+                break;
+            case TYPE_CHECKBOX:
+                RSCheckBox.newButtonDrawable(context, RSCheckBox.SIZE_MD);
+                break;
+            case TYPE_BUTTON:
+                RSButtonStyleCache.newBackground(context, RSButton.TYPE_PRIMARY);
+                RSButtonStyleCache.textColor(context, RSButton.TYPE_PRIMARY);
+                break;
+        }
+    }
+
+    private View create(int type) {
+        switch (type) {
+            case TYPE_EDIT_TEXT:
+                return new RSEditText.Builder(context).build();
+            case TYPE_PASSWORD_INPUT:
+                return new RSPasswordInput.Builder(context).build();
+            case TYPE_CHECKBOX:
+                return new RSCheckBox(context);
+            case TYPE_BUTTON:
+                return new RSButton(context);
+            default:
+                throw new IllegalArgumentException("unknown type " + type);
+        }
+    }
+
+    private static int typeOf(View v) {
+        if (v instanceof RSEditText) return TYPE_EDIT_TEXT;
+        if (v instanceof RSPasswordInput) return TYPE_PASSWORD_INPUT;
+        if (v instanceof RSCheckBox) return TYPE_CHECKBOX;
+        if (v instanceof RSButton) return TYPE_BUTTON;
+        throw new IllegalArgumentException("not a pooled RS component: " + v.getClass().getName());
+    }
+
+    private static void reset(int type, View v) {
+        v.setOnClickListener(null);
+        v.setEnabled(true);
+        v.setVisibility(View.VISIBLE);
+
+        switch (type) {
+            case TYPE_EDIT_TEXT: {
+                RSEditText e = (RSEditText) v;
+                // önce watcher'lar: metni silmek doğrulama / maske / öneri tetiklemesin
+                e.setValidator(null);
+                e.setMask((RSInputMask) null);
+                e.setAutocomplete(null);
+                e.setOnSuggestionClickListener(null);
+                e.getEditText().clearFocus();
+                e.setText("");
+                e.setLabel(null);
+                e.setHint(null);
+                e.clearStatus();
+                break;
+            }
+            case TYPE_PASSWORD_INPUT: {
+                RSPasswordInput p = (RSPasswordInput) v;
+                p.setValidator(null);
+                p.setStrengthDictionary(null, false);
+                p.setStrengthAppliesState(false);
+                p.setOnStrengthChangeListener(null);
+                p.getEditText().clearFocus();
+                p.setText("");
+                p.setLabel(null);
+                p.setHint(null);
+                p.clearStatus();
+                break;
+            }
+            case TYPE_CHECKBOX: {
+                RSCheckBox c = (RSCheckBox) v;
+                c.setOnCheckedChangeListener(null);
+                c.setText(null);
+                c.setStatus(RSCheckBox.STATUS_UNCHECKED);
+                break;
+            }
+            case TYPE_BUTTON: {
+                RSButton b = (RSButton) v;
+                b.setText(null);
+                b.applyType(RSButton.TYPE_PRIMARY);
+                break;
+            }
+        }
+    }
+
+    private static ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "RSViewPool");
+                t.setDaemon(true);
+                t.setPriority(Thread.NORM_PRIORITY - 1);
+                return t;
+            });
+        }
+        return executor;
+    }
+}
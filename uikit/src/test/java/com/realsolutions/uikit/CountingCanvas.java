@@ -0,0 +1,569 @@
+package com.realsolutions.uikit;
+
+import android.graphics.Bitmap;
+import android.graphics.BlendMode;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Mesh;
+import android.graphics.NinePatch;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Picture;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Region;
+import android.graphics.RenderNode;
+import android.graphics.Shader;
+import android.graphics.fonts.Font;
+import android.graphics.text.MeasuredText;
+
+/**
+ * Canvas that only counts the calls made by our components' onDraw.
+ * Nothing is forwarded to the real Canvas, so counting itself allocates nothing.
+ * Every public draw / state method of API 34 is overridden: a call can't slip
+ * past drawOps() / stateOps() by going to the real Canvas.
+ */
+class CountingCanvas extends Canvas {
+
+    int drawOval;
+    int drawLines;
+    int drawLine;
+    int drawRect;
+    int drawBitmap;
+    int drawRenderNode;
+    int drawCircle;
+    int drawArc;
+    int drawPath;
+    int drawRoundRect;
+    int drawText;
+    // drawPaint / drawColor / drawARGB / drawRGB
+    int drawColor;
+    // points, meshes, vertices, pictures, patches, glyphs
+    int drawOther;
+
+    int save;
+    int restore;
+    int rotate;
+    int translate;
+    int scale;
+    int clipRect;
+    int saveLayer;
+    // concat / setMatrix / skew
+    int concat;
+    // clipPath / clipOut* / clipShader
+    int clipOther;
+
+    private int saveCount = 1;
+
+    void reset() {
+        drawOval = drawLines = drawLine = drawRect = drawBitmap = drawRenderNode = 0;
+        drawCircle = drawArc = drawPath = drawRoundRect = drawText = drawColor = drawOther = 0;
+        save = restore = rotate = translate = scale = clipRect = 0;
+        saveLayer = concat = clipOther = 0;
+        saveCount = 1;
+    }
+
+    int drawOps() {
+        return drawOval + drawLines + drawLine + drawRect + drawBitmap + drawRenderNode
+                + drawCircle + drawArc + drawPath + drawRoundRect + drawText + drawColor + drawOther;
+    }
+
+    int stateOps() {
+        return save + restore + rotate + translate + scale + clipRect
+                + saveLayer + concat + clipOther;
+    }
+
+    @Override
+    public void drawOval(RectF oval, Paint paint) {
+        drawOval++;
+    }
+
+    @Override
+    public void drawOval(float left, float top, float right, float bottom, Paint paint) {
+        drawOval++;
+    }
+
+    @Override
+    public void drawLines(float[] pts, int offset, int count, Paint paint) {
+        drawLines++;
+    }
+
+    @Override
+    public void drawLines(float[] pts, Paint paint) {
+        drawLines++;
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        drawLine++;
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        drawRect++;
+    }
+
+    @Override
+    public void drawRect(RectF rect, Paint paint) {
+        drawRect++;
+    }
+
+    @Override
+    public void drawRect(Rect r, Paint paint) {
+        drawRect++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, RectF dst, Paint paint) {
+        drawBitmap++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, Rect dst, Paint paint) {
+        drawBitmap++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        drawBitmap++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Matrix matrix, Paint paint) {
+        drawBitmap++;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void drawBitmap(int[] colors, int offset, int stride, float x, float y,
+                           int width, int height, boolean hasAlpha, Paint paint) {
+        drawBitmap++;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void drawBitmap(int[] colors, int offset, int stride, int x, int y,
+                           int width, int height, boolean hasAlpha, Paint paint) {
+        drawBitmap++;
+    }
+
+    @Override
+    public void drawBitmapMesh(Bitmap bitmap, int meshWidth, int meshHeight, float[] verts,
+                               int vertOffset, int[] colors, int colorOffset, Paint paint) {
+        drawBitmap++;
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        drawCircle++;
+    }
+
+    @Override
+    public void drawArc(RectF oval, float startAngle, float sweepAngle, boolean useCenter, Paint paint) {
+        drawArc++;
+    }
+
+    @Override
+    public void drawArc(float left, float top, float right, float bottom, float startAngle,
+                        float sweepAngle, boolean useCenter, Paint paint) {
+        drawArc++;
+    }
+
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        drawPath++;
+    }
+
+    @Override
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        drawRoundRect++;
+    }
+
+    @Override
+    public void drawRoundRect(float left, float top, float right, float bottom, float rx, float ry, Paint paint) {
+        drawRoundRect++;
+    }
+
+    @Override
+    public void drawDoubleRoundRect(RectF outer, float outerRx, float outerRy,
+                                    RectF inner, float innerRx, float innerRy, Paint paint) {
+        drawRoundRect++;
+    }
+
+    @Override
+    public void drawDoubleRoundRect(RectF outer, float[] outerRadii, RectF inner, float[] innerRadii, Paint paint) {
+        drawRoundRect++;
+    }
+
+    @Override
+    public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        drawText++;
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        drawText++;
+    }
+
+    @Override
+    public void drawText(String text, int start, int end, float x, float y, Paint paint) {
+        drawText++;
+    }
+
+    @Override
+    public void drawText(CharSequence text, int start, int end, float x, float y, Paint paint) {
+        drawText++;
+    }
+
+    @Override
+    public void drawTextOnPath(char[] text, int index, int count, Path path, float hOffset, float vOffset, Paint paint) {
+        drawText++;
+    }
+
+    @Override
+    public void drawTextOnPath(String text, Path path, float hOffset, float vOffset, Paint paint) {
+        drawText++;
+    }
+
+    @Override
+    public void drawTextRun(char[] text, int index, int count, int contextIndex, int contextCount,
+                            float x, float y, boolean isRtl, Paint paint) {
+        drawText++;
+    }
+
+    @Override
+    public void drawTextRun(CharSequence text, int start, int end, int contextStart, int contextEnd,
+                            float x, float y, boolean isRtl, Paint paint) {
+        drawText++;
+    }
+
+    @Override
+    public void drawTextRun(MeasuredText text, int start, int end, int contextStart, int contextEnd,
+                            float x, float y, boolean isRtl, Paint paint) {
+        drawText++;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void drawPosText(char[] text, int index, int count, float[] pos, Paint paint) {
+        drawText++;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void drawPosText(String text, float[] pos, Paint paint) {
+        drawText++;
+    }
+
+    @Override
+    public void drawPaint(Paint paint) {
+        drawColor++;
+    }
+
+    @Override
+    public void drawColor(int color) {
+        drawColor++;
+    }
+
+    @Override
+    public void drawColor(long color) {
+        drawColor++;
+    }
+
+    @Override
+    public void drawColor(int color, PorterDuff.Mode mode) {
+        drawColor++;
+    }
+
+    @Override
+    public void drawColor(int color, BlendMode mode) {
+        drawColor++;
+    }
+
+    @Override
+    public void drawColor(long color, BlendMode mode) {
+        drawColor++;
+    }
+
+    @Override
+    public void drawARGB(int a, int r, int g, int b) {
+        drawColor++;
+    }
+
+    @Override
+    public void drawRGB(int r, int g, int b) {
+        drawColor++;
+    }
+
+    @Override
+    public void drawPoint(float x, float y, Paint paint) {
+        drawOther++;
+    }
+
+    @Override
+    public void drawPoints(float[] pts, int offset, int count, Paint paint) {
+        drawOther++;
+    }
+
+    @Override
+    public void drawPoints(float[] pts, Paint paint) {
+        drawOther++;
+    }
+
+    @Override
+    public void drawVertices(VertexMode mode, int vertexCount, float[] verts, int vertOffset,
+                             float[] texs, int texOffset, int[] colors, int colorOffset,
+                             short[] indices, int indexOffset, int indexCount, Paint paint) {
+        drawOther++;
+    }
+
+    @Override
+    public void drawPicture(Picture picture) {
+        drawOther++;
+    }
+
+    @Override
+    public void drawPicture(Picture picture, RectF dst) {
+        drawOther++;
+    }
+
+    @Override
+    public void drawPicture(Picture picture, Rect dst) {
+        drawOther++;
+    }
+
+    @Override
+    public void drawPatch(NinePatch patch, Rect dst, Paint paint) {
+        drawOther++;
+    }
+
+    @Override
+    public void drawPatch(NinePatch patch, RectF dst, Paint paint) {
+        drawOther++;
+    }
+
+    @Override
+    public void drawGlyphs(int[] glyphIds, int glyphIdOffset, float[] positions, int positionOffset,
+                           int glyphCount, Font font, Paint paint) {
+        drawOther++;
+    }
+
+    @Override
+    public void drawMesh(Mesh mesh, BlendMode blendMode, Paint paint) {
+        drawOther++;
+    }
+
+    @Override
+    public void drawRenderNode(RenderNode renderNode) {
+        drawRenderNode++;
+    }
+
+    @Override
+    public int save() {
+        save++;
+        return saveCount++;
+    }
+
+    @Override
+    public int saveLayer(RectF bounds, Paint paint) {
+        saveLayer++;
+        return saveCount++;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public int saveLayer(RectF bounds, Paint paint, int saveFlags) {
+        saveLayer++;
+        return saveCount++;
+    }
+
+    @Override
+    public int saveLayer(float left, float top, float right, float bottom, Paint paint) {
+        saveLayer++;
+        return saveCount++;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public int saveLayer(float left, float top, float right, float bottom, Paint paint, int saveFlags) {
+        saveLayer++;
+        return saveCount++;
+    }
+
+    @Override
+    public int saveLayerAlpha(RectF bounds, int alpha) {
+        saveLayer++;
+        return saveCount++;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public int saveLayerAlpha(RectF bounds, int alpha, int saveFlags) {
+        saveLayer++;
+        return saveCount++;
+    }
+
+    @Override
+    public int saveLayerAlpha(float left, float top, float right, float bottom, int alpha) {
+        saveLayer++;
+        return saveCount++;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public int saveLayerAlpha(float left, float top, float right, float bottom, int alpha, int saveFlags) {
+        saveLayer++;
+        return saveCount++;
+    }
+
+    @Override
+    public void restoreToCount(int count) {
+        restore++;
+        saveCount = count;
+    }
+
+    @Override
+    public void restore() {
+        restore++;
+        saveCount--;
+    }
+
+    @Override
+    public int getSaveCount() {
+        return saveCount;
+    }
+
+    @Override
+    public void rotate(float degrees) {
+        rotate++;
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        translate++;
+    }
+
+    @Override
+    public void scale(float sx, float sy) {
+        scale++;
+    }
+
+    @Override
+    public void skew(float sx, float sy) {
+        concat++;
+    }
+
+    @Override
+    public void concat(Matrix matrix) {
+        concat++;
+    }
+
+    @Override
+    public void setMatrix(Matrix matrix) {
+        concat++;
+    }
+
+    @Override
+    public boolean clipRect(float left, float top, float right, float bottom) {
+        clipRect++;
+        return true;
+    }
+
+    @Override
+    public boolean clipRect(RectF rect) {
+        clipRect++;
+        return true;
+    }
+
+    @Override
+    public boolean clipRect(Rect rect) {
+        clipRect++;
+        return true;
+    }
+
+    @Override
+    public boolean clipRect(int left, int top, int right, int bottom) {
+        clipRect++;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean clipRect(RectF rect, Region.Op op) {
+        clipRect++;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean clipRect(Rect rect, Region.Op op) {
+        clipRect++;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean clipRect(float left, float top, float right, float bottom, Region.Op op) {
+        clipRect++;
+        return true;
+    }
+
+    @Override
+    public boolean clipOutRect(RectF rect) {
+        clipOther++;
+        return true;
+    }
+
+    @Override
+    public boolean clipOutRect(Rect rect) {
+        clipOther++;
+        return true;
+    }
+
+    @Override
+    public boolean clipOutRect(float left, float top, float right, float bottom) {
+        clipOther++;
+        return true;
+    }
+
+    @Override
+    public boolean clipOutRect(int left, int top, int right, int bottom) {
+        clipOther++;
+        return true;
+    }
+
+    @Override
+    public boolean clipPath(Path path) {
+        clipOther++;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean clipPath(Path path, Region.Op op) {
+        clipOther++;
+        return true;
+    }
+
+    @Override
+    public boolean clipOutPath(Path path) {
+        clipOther++;
+        return true;
+    }
+
+    @Override
+    public void clipShader(Shader shader) {
+        clipOther++;
+    }
+
+    @Override
+    public void clipOutShader(Shader shader) {
+        clipOther++;
+    }
+
+    @Override
+    public boolean isHardwareAccelerated() {
+        return false;
+    }
+}
@@ -0,0 +1,300 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tree used by most tests:
+ *
+ * root
+ *  +- h1
+ *  |   +- s1 -> a, b
+ *  |   +- c
+ *  +- h2 -> d, e
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RSCheckBoxGroupTest {
+
+    private static final int UNCHECKED = RSCheckBox.STATUS_UNCHECKED;
+    private static final int CHECKED = RSCheckBox.STATUS_CHECKED;
+    private static final int INDETERMINATE = RSCheckBox.STATUS_INDETERMINATE;
+
+    private Context context;
+    private RSCheckBoxGroup group;
+    private RSCheckBoxGroup.Node root, h1, s1, a, b, c, h2, d, e;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(RuntimeEnvironment.getApplication(), R.style.Theme_RSUiKit);
+        group = new RSCheckBoxGroup();
+        root = group.getRoot();
+        h1 = group.addChild(root);
+        s1 = group.addChild(h1);
+        a = group.addChild(s1);
+        b = group.addChild(s1);
+        c = group.addChild(h1);
+        h2 = group.addChild(root);
+        d = group.addChild(h2);
+        e = group.addChild(h2);
+    }
+
+    @Test
+    public void structure_countsLeaves() {
+        assertEquals(5, group.getLeafCount(root));
+        assertEquals(3, group.getLeafCount(h1));
+        assertEquals(2, group.getLeafCount(s1));
+        assertEquals(1, group.getLeafCount(a));
+        assertEquals(0, group.getCheckedCount(root));
+        assertEquals(UNCHECKED, group.getStatus(root));
+    }
+
+    @Test
+    public void childToggle_updatesAncestors() {
+        Recorder rec = listen();
+
+        group.toggle(a);
+        assertStatus(CHECKED, a);
+        assertStatus(INDETERMINATE, s1, h1, root);
+        // a, s1, h1, root changed
+        assertEquals(4, rec.statusChanges.size());
+
+        group.toggle(b);
+        assertStatus(CHECKED, s1);
+        assertStatus(INDETERMINATE, h1, root);
+
+        group.toggle(c);
+        assertStatus(CHECKED, h1);
+        assertStatus(INDETERMINATE, root);
+
+        group.toggle(d);
+        group.toggle(e);
+        assertStatus(CHECKED, h2, root);
+        assertEquals(5, group.getCheckedCount(root));
+
+        group.toggle(a);
+        assertStatus(UNCHECKED, a);
+        assertStatus(INDETERMINATE, s1, h1, root);
+        assertStatus(CHECKED, h2);
+        assertEquals(4, group.getCheckedCount(root));
+        assertEquals(0, rec.bulk);
+    }
+
+    @Test
+    public void setAllChecked_thenOneToggle_counts() {
+        group.setAllChecked(root, true);
+        assertEquals(5, group.getCheckedCount(root));
+        assertStatus(CHECKED, root, h1, s1, a, b, c, h2, d, e);
+
+        group.toggle(b);
+
+        assertStatus(UNCHECKED, b);
+        assertStatus(CHECKED, a, c, h2, d, e);
+        assertStatus(INDETERMINATE, s1, h1, root);
+        assertEquals(1, group.getCheckedCount(s1));
+        assertEquals(2, group.getCheckedCount(h1));
+        assertEquals(2, group.getCheckedCount(h2));
+        assertEquals(4, group.getCheckedCount(root));
+
+        List<RSCheckBoxGroup.Node> checked = new ArrayList<>();
+        group.collectChecked(root, checked);
+        assertEquals(4, checked.size());
+        assertFalse(checked.contains(b));
+    }
+
+    @Test
+    public void nestedBulk_underBulkSetAncestor() {
+        group.setAllChecked(root, true);
+        group.setAllChecked(h1, false);
+        assertStatus(UNCHECKED, h1, s1, a, b, c);
+        assertStatus(CHECKED, h2, d, e);
+        assertStatus(INDETERMINATE, root);
+        assertEquals(2, group.getCheckedCount(root));
+
+        group.setAllChecked(s1, true);
+        assertStatus(CHECKED, s1, a, b);
+        assertStatus(UNCHECKED, c);
+        assertEquals(2, group.getCheckedCount(h1));
+        assertEquals(4, group.getCheckedCount(root));
+
+        group.toggle(a);
+        assertStatus(UNCHECKED, a);
+        assertStatus(CHECKED, b);
+        assertEquals(1, group.getCheckedCount(s1));
+        assertEquals(1, group.getCheckedCount(h1));
+        assertEquals(3, group.getCheckedCount(root));
+
+        // the newest assignment wins over everything below it
+        group.setAllChecked(root, false);
+        assertStatus(UNCHECKED, root, h1, s1, a, b, c, h2, d, e);
+        assertEquals(0, group.getCheckedCount(root));
+
+        group.setAllChecked(root, true);
+        group.toggle(d);
+        assertStatus(CHECKED, h1, s1, a, b, c, e);
+        assertStatus(UNCHECKED, d);
+        assertEquals(1, group.getCheckedCount(h2));
+        assertEquals(4, group.getCheckedCount(root));
+    }
+
+    @Test
+    public void toggleHeader_selectsAll_unlessAllSelected() {
+        group.toggle(a);
+        group.toggle(h1);
+        assertStatus(CHECKED, h1, s1, a, b, c);
+
+        group.toggle(h1);
+        assertStatus(UNCHECKED, h1, s1, a, b, c);
+    }
+
+    @Test
+    public void addChild_underBulkSetParent_isUnchecked() {
+        group.setAllChecked(root, true);
+
+        RSCheckBoxGroup.Node f = group.addChild(h2);
+
+        assertStatus(UNCHECKED, f);
+        assertStatus(CHECKED, d, e, h1);
+        assertStatus(INDETERMINATE, h2, root);
+        assertEquals(2, group.getCheckedCount(h2));
+        assertEquals(3, group.getLeafCount(h2));
+        assertEquals(5, group.getCheckedCount(root));
+        assertEquals(6, group.getLeafCount(root));
+
+        // checked leaf -> header: its only leaf is the new, unchecked child
+        RSCheckBoxGroup.Node g = group.addChild(c);
+
+        assertFalse(c.isLeaf());
+        assertStatus(UNCHECKED, c, g);
+        assertEquals(1, group.getLeafCount(c));
+        assertEquals(2, group.getCheckedCount(h1));
+        assertEquals(4, group.getCheckedCount(root));
+        assertEquals(6, group.getLeafCount(root));
+
+        group.toggle(g);
+        assertStatus(CHECKED, c, h1);
+        assertEquals(5, group.getCheckedCount(root));
+    }
+
+    @Test
+    public void bulkOperation_firesOnBulkChangedOnce() {
+        Recorder rec = listen();
+
+        group.setAllChecked(root, true);
+        assertEquals(1, rec.bulk);
+        assertSame(root, rec.lastBulkRoot);
+        assertTrue(rec.statusChanges.isEmpty());
+
+        group.toggle(h1);
+        assertEquals(2, rec.bulk);
+        assertSame(h1, rec.lastBulkRoot);
+
+        group.setChecked(s1, true);
+        assertEquals(3, rec.bulk);
+        assertSame(s1, rec.lastBulkRoot);
+
+        group.toggle(d);
+        assertEquals(3, rec.bulk);
+        assertFalse(rec.statusChanges.isEmpty());
+    }
+
+    @Test
+    public void bind_keepsViewsInSync_untilUnbind() {
+        RSCheckBox h1Box = new RSCheckBox(context);
+        RSCheckBox aBox = new RSCheckBox(context);
+        group.toggle(a);
+
+        group.bind(h1, h1Box);
+        group.bind(a, aBox);
+        assertEquals(INDETERMINATE, h1Box.getStatus());
+        assertEquals(CHECKED, aBox.getStatus());
+
+        group.setAllChecked(root, false);
+        assertEquals(UNCHECKED, h1Box.getStatus());
+        assertEquals(UNCHECKED, aBox.getStatus());
+
+        // click on a bound view toggles its node
+        group.onClick(aBox);
+        assertEquals(CHECKED, aBox.getStatus());
+        assertEquals(INDETERMINATE, h1Box.getStatus());
+
+        group.unbind(aBox);
+        group.setAllChecked(root, false);
+        assertEquals(UNCHECKED, h1Box.getStatus());
+        assertEquals(CHECKED, aBox.getStatus());
+
+        group.onClick(aBox);
+        assertStatus(UNCHECKED, a);
+    }
+
+    @Test
+    public void rebind_movesViewToNewNode() {
+        RSCheckBox box = new RSCheckBox(context);
+        group.bind(a, box);
+        group.toggle(b);
+
+        // recycled: same view, other row
+        group.bind(b, box);
+        assertEquals(CHECKED, box.getStatus());
+
+        group.toggle(a);
+        assertEquals(CHECKED, box.getStatus());
+        group.toggle(b);
+        assertEquals(UNCHECKED, box.getStatus());
+    }
+
+    // ------------------------------------------------------------------
+
+    private void assertStatus(int expected, RSCheckBoxGroup.Node... nodes) {
+        for (RSCheckBoxGroup.Node n : nodes) {
+            assertEquals(name(n), expected, group.getStatus(n));
+        }
+    }
+
+    private String name(RSCheckBoxGroup.Node n) {
+        RSCheckBoxGroup.Node[] all = {root, h1, s1, a, b, c, h2, d, e};
+        String[] names = {"root", "h1", "s1", "a", "b", "c", "h2", "d", "e"};
+        for (int i = 0; i < all.length; i++) {
+            if (all[i] == n) return names[i];
+        }
+        return "node";
+    }
+
+    private Recorder listen() {
+        Recorder rec = new Recorder();
+        group.setOnStatusChangeListener(rec);
+        return rec;
+    }
+
+    private static final class Recorder implements RSCheckBoxGroup.OnStatusChangeListener {
+
+        final List<RSCheckBoxGroup.Node> statusChanges = new ArrayList<>();
+        int bulk;
+        RSCheckBoxGroup.Node lastBulkRoot;
+
+        @Override
+        public void onStatusChanged(@NonNull RSCheckBoxGroup.Node node, int status) {
+            statusChanges.add(node);
+        }
+
+        @Override
+        public void onBulkChanged(@NonNull RSCheckBoxGroup.Node root) {
+            bulk++;
+            lastBulkRoot = root;
+        }
+    }
+}
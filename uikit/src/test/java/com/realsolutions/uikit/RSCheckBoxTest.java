@@ -0,0 +1,61 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.StateListDrawable;
+import android.view.ContextThemeWrapper;
+
+import androidx.core.widget.CompoundButtonCompat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RSCheckBoxTest {
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(RuntimeEnvironment.getApplication(), R.style.Theme_RSUiKit);
+    }
+
+    @Test
+    public void disabled_keepsShowingStatus() {
+        RSCheckBox cb = new RSCheckBox(context);
+
+        cb.setStatus(RSCheckBox.STATUS_CHECKED);
+        cb.setEnabled(false);
+        assertEquals(android.R.attr.state_checked, currentItemState(cb));
+
+        cb.setStatus(RSCheckBox.STATUS_INDETERMINATE);
+        assertEquals(R.attr.state_indeterminate, currentItemState(cb));
+
+        cb.setStatus(RSCheckBox.STATUS_UNCHECKED);
+        assertEquals(0, currentItemState(cb));
+    }
+
+    /**
+     * State the selector matched for the current drawable (0 = the default item).
+     */
+    private static int currentItemState(RSCheckBox cb) {
+        StateListDrawable selector = (StateListDrawable) CompoundButtonCompat.getButtonDrawable(cb);
+        assertNotNull(selector);
+        Drawable current = selector.getCurrent();
+        for (int i = 0; i < selector.getStateCount(); i++) {
+            if (selector.getStateDrawable(i) == current) {
+                int[] set = selector.getStateSet(i);
+                return set.length == 0 ? 0 : set[0];
+            }
+        }
+        fail("current drawable is not a selector item");
+        return -1;
+    }
+}
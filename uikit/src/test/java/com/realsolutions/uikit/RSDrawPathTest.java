@@ -0,0 +1,231 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Per-frame budget of the views that redraw every frame: no heap allocation
+ * in onDraw and a fixed number of Canvas calls. If one of these fails, the
+ * draw path got more expensive; update the expected counts only on purpose.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RSDrawPathTest {
+
+    private static final int WARMUP = 200;
+    private static final int FRAMES = 1000;
+
+    private Context context;
+    private final CountingCanvas canvas = new CountingCanvas();
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(RuntimeEnvironment.getApplication(), R.style.Theme_RSUiKit);
+    }
+
+    // RSLoadingCircle
+
+    @Test
+    public void loadingCircle_canvasMode_opsPerFrame() {
+        RSLoadingCircle circle = layout(new RSLoadingCircle(context), 288, 288);
+
+        canvas.reset();
+        circle.onDraw(canvas);
+
+        // base disk + trail disk, trail rotated in one save/restore
+        assertEquals(2, canvas.drawOval);
+        assertEquals(2, canvas.drawOps());
+        assertEquals(1, canvas.save);
+        assertEquals(1, canvas.restore);
+        assertEquals(1, canvas.rotate);
+    }
+
+    @Test
+    public void loadingCircle_canvasMode_allocatesNothing() {
+        RSLoadingCircle circle = layout(new RSLoadingCircle(context), 288, 288);
+        assertNoAllocation("RSLoadingCircle", circle::onDraw);
+    }
+
+    @Test
+    public void loadingCircle_renderNodeMode_softwareFallback_allocatesNothing() {
+        RSLoadingCircle circle = layout(new RSLoadingCircle(context), 288, 288);
+        circle.setRenderMode(RSLoadingCircle.RENDER_MODE_RENDER_NODE);
+        assertNoAllocation("RSLoadingCircle (render node)", circle::onDraw);
+    }
+
+    // RSGridBackgroundView
+
+    @Test
+    public void grid_fitted_singleDrawLines() {
+        RSGridBackgroundView grid = layout(new RSGridBackgroundView(context), 1080, 1080);
+        grid.setGrid(32, 32);
+
+        canvas.reset();
+        grid.onDraw(canvas);
+
+        assertEquals(1, canvas.drawLines);
+        assertEquals(1, canvas.drawOps());
+        assertEquals(0, canvas.stateOps());
+    }
+
+    @Test
+    public void grid_fitted_allocatesNothing() {
+        RSGridBackgroundView grid = layout(new RSGridBackgroundView(context), 1080, 1080);
+        grid.setGrid(32, 32);
+        assertNoAllocation("RSGridBackgroundView", grid::onDraw);
+    }
+
+    @Test
+    public void grid_zoomTiled_opsPerFrame() {
+        RSGridBackgroundView grid = layout(new RSGridBackgroundView(context), 1080, 1080);
+        grid.setGrid(128, 128);
+        grid.setZoomEnabled(true);
+
+        canvas.reset();
+        grid.onDraw(canvas);
+
+        // one shader-filled rect; grid larger than the view -> no closing edge lines
+        assertEquals(1, canvas.drawRect);
+        assertEquals(1, canvas.drawOps());
+        assertNoAllocation("RSGridBackgroundView (tiled)", grid::onDraw);
+    }
+
+    @Test
+    public void grid_zoomVector_opsPerFrame() {
+        RSGridBackgroundView grid = layout(new RSGridBackgroundView(context), 1080, 1080);
+        grid.setGrid(128, 128);
+        grid.setZoomEnabled(true);
+        grid.setZoom(4f, 540f, 540f);
+
+        canvas.reset();
+        grid.onDraw(canvas);
+
+        assertEquals(1, canvas.drawLines);
+        assertEquals(1, canvas.drawOps());
+        assertNoAllocation("RSGridBackgroundView (zoomed)", grid::onDraw);
+    }
+
+    @Test
+    public void grid_heatmap_opsPerFrame() {
+        RSGridBackgroundView grid = layout(new RSGridBackgroundView(context), 1080, 1080);
+        grid.setGrid(32, 32);
+        grid.setCells(filled(32 * 32));
+
+        canvas.reset();
+        grid.onDraw(canvas);
+
+        // cell layer blit (32x32 fits one block) + lines
+        assertEquals(1, canvas.drawBitmap);
+        assertEquals(1, canvas.drawLines);
+        assertEquals(2, canvas.drawOps());
+        assertNoAllocation("RSGridBackgroundView (heatmap)", grid::onDraw);
+    }
+
+    @Test
+    public void grid_heatmapZoomed_drawsOnlyVisibleBlocks() {
+        RSGridBackgroundView grid = layout(new RSGridBackgroundView(context), 1080, 1080);
+        grid.setZoomEnabled(true);
+        grid.setGrid(2048, 2048);
+        grid.setCells(filled(2048 * 2048));
+        grid.setZoom(4f, 0f, 0f);
+
+        canvas.reset();
+        grid.onDraw(canvas);
+
+        // 1080 px / (24 dp * 4) -> a few cells, all inside the first block
+        assertEquals(1, canvas.drawBitmap);
+        assertNoAllocation("RSGridBackgroundView (heatmap zoomed)", grid::onDraw);
+    }
+
+    @Test
+    public void grid_heatmapTransparentBlocks_areNotDrawn() {
+        RSGridBackgroundView grid = layout(new RSGridBackgroundView(context), 1080, 1080);
+        grid.setGrid(256, 256);
+        grid.setCells(new int[256 * 256]);
+        grid.setCell(200, 10, Color.RED);
+
+        canvas.reset();
+        grid.onDraw(canvas);
+
+        assertEquals(1, canvas.drawBitmap);
+        assertEquals(Color.RED, grid.getCell(200, 10));
+        assertEquals(Color.TRANSPARENT, grid.getCell(0, 0));
+    }
+
+    @Test
+    public void grid_heatmapOverCap_throws() {
+        RSGridBackgroundView grid = new RSGridBackgroundView(context);
+        // 65536 * 65536 overflows int: the check must not wrap around
+        grid.setGrid(65536, 65536);
+
+        assertThrows(IllegalStateException.class, () -> grid.setCell(0, 0, Color.RED));
+
+        grid.setGrid(32, 32);
+        grid.setCell(0, 0, Color.RED);
+        assertThrows(IllegalArgumentException.class, () -> grid.setGrid(4096, 4096));
+        assertEquals(Color.RED, grid.getCell(0, 0));
+    }
+
+    @Test
+    public void grid_heatmapCellOutsideGrid_throws() {
+        RSGridBackgroundView grid = new RSGridBackgroundView(context);
+        grid.setGrid(40, 30);
+
+        // cells henüz yok: yine de sınır kontrolü yapılır
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.getCell(40, 0));
+
+        grid.setCell(39, 29, Color.RED);
+        assertEquals(Color.RED, grid.getCell(39, 29));
+        // 40x30 grid, tile sınırı içinde ama grid dışında: başka hücreye sarmamalı
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.getCell(0, 30));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.getCell(-1, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.getCell(0, -1));
+    }
+
+    // ------------------------------------------------------------------
+
+    private interface Frame {
+        void draw(CountingCanvas canvas);
+    }
+
+    private void assertNoAllocation(String name, Frame frame) {
+        for (int i = 0; i < WARMUP; i++) frame.draw(canvas);
+
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+
+        long before = mx.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < FRAMES; i++) frame.draw(canvas);
+        long bytes = mx.getThreadAllocatedBytes(tid) - before;
+
+        // smallest object is 16 bytes: anything allocated per frame exceeds FRAMES
+        assertTrue(name + " allocates in onDraw: " + bytes + " bytes / " + FRAMES + " frames", bytes < FRAMES);
+    }
+
+    private static int[] filled(int n) {
+        int[] colors = new int[n];
+        Arrays.fill(colors, Color.BLUE);
+        return colors;
+    }
+
+    private static <T extends View> T layout(T view, int w, int h) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(w, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(h, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, w, h);
+        return view;
+    }
+}
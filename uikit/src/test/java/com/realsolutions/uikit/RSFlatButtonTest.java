@@ -0,0 +1,174 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.text.Layout;
+import android.util.AttributeSet;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RSFlatButtonTest {
+
+    private static final int ROUNDS = 50;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(RuntimeEnvironment.getApplication(), R.style.Theme_RSUiKit);
+    }
+
+    @Test
+    public void applyType_matchesRSButtonColors() {
+        RSFlatButton flat = new RSFlatButton(context);
+        RSButton button = new RSButton(context);
+
+        for (int type = RSFlatButton.TYPE_PRIMARY; type <= RSFlatButton.TYPE_PLAIN_LIGHT; type++) {
+            flat.applyType(type);
+            button.applyType(type);
+            assertEquals(type, flat.getType());
+            assertEquals(button.getCurrentTextColor(), flat.getCurrentTextColor());
+        }
+    }
+
+    @Test
+    public void applyType_andPress_doNotRequestLayout() {
+        RSFlatButton b = new RSFlatButton(context);
+        b.setText("Kaydet");
+        layout(b, 400);
+
+        b.applyType(RSFlatButton.TYPE_SECONDARY);
+        b.setPressed(true);
+        b.setPressed(false);
+
+        assertFalse(b.isLayoutRequested());
+    }
+
+    @Test
+    public void disabled_usesDisabledTextColor() {
+        RSFlatButton b = new RSFlatButton(context);
+        int enabled = b.getCurrentTextColor();
+
+        b.setEnabled(false);
+
+        int expected = RSButtonStyleCache.textColor(context, RSFlatButton.TYPE_PRIMARY)
+                .getColorForState(new int[0], 0);
+        assertEquals(expected, b.getCurrentTextColor());
+        assertNotEquals(enabled, b.getCurrentTextColor());
+    }
+
+    @Test
+    public void textLayout_isBuiltOnce_andReusedAcrossDraws() {
+        RSFlatButton b = new RSFlatButton(context);
+        b.setText("Kaydet");
+        layout(b, 400);
+        Canvas canvas = new Canvas(Bitmap.createBitmap(400, 200, Bitmap.Config.ARGB_8888));
+
+        b.draw(canvas);
+        Layout first = b.getTextLayout();
+        b.setPressed(true);
+        b.draw(canvas);
+
+        assertNotNull(first);
+        assertSame(first, b.getTextLayout());
+
+        b.setText("Vazgeç");
+        assertNull(b.getTextLayout());
+    }
+
+    @Test
+    public void wrapContent_measuresTextPlusPadding() {
+        RSFlatButton b = new RSFlatButton(context);
+        b.setText("Kaydet");
+        int unspecified = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+
+        b.measure(unspecified, unspecified);
+
+        assertTrue(b.getMeasuredWidth() > b.getPaddingLeft() + b.getPaddingRight());
+        assertTrue(b.getMeasuredHeight() >= b.getMinimumHeight());
+    }
+
+    @Test
+    public void xmlPadding_keepsDefaultsOnOtherSides() {
+        AttributeSet topOnly = Robolectric.buildAttributeSet()
+                .addAttribute(android.R.attr.paddingTop, "20dp")
+                .build();
+        RSFlatButton b = new RSFlatButton(context, topOnly);
+
+        assertEquals(dp(20), b.getPaddingTop());
+        assertEquals(dp(16), b.getPaddingLeft());
+        assertEquals(dp(16), b.getPaddingRight());
+        assertEquals(dp(12), b.getPaddingBottom());
+
+        AttributeSet zeroStart = Robolectric.buildAttributeSet()
+                .addAttribute(android.R.attr.paddingStart, "0dp")
+                .build();
+        RSFlatButton c = new RSFlatButton(context, zeroStart);
+
+        assertEquals(0, c.getPaddingStart());
+        assertEquals(dp(16), c.getPaddingEnd());
+        assertEquals(dp(12), c.getPaddingTop());
+    }
+
+    @Test
+    public void allocatesLessThanRSButton() {
+        // warm up both paths (class loading, style caches)
+        allocatedBytes(true);
+        allocatedBytes(false);
+
+        long button = allocatedBytes(false);
+        long flat = allocatedBytes(true);
+
+        assertTrue("bytes/instance: RSButton=" + button / ROUNDS + " RSFlatButton=" + flat / ROUNDS,
+                flat < button);
+    }
+
+    private long allocatedBytes(boolean flat) {
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+        Canvas canvas = new Canvas(Bitmap.createBitmap(400, 200, Bitmap.Config.ARGB_8888));
+
+        long before = mx.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < ROUNDS; i++) {
+            // create + first layout + first draw, as in a list row
+            View v;
+            if (flat) {
+                RSFlatButton b = new RSFlatButton(context);
+                b.setText("Kaydet");
+                v = b;
+            } else {
+                RSButton b = new RSButton(context);
+                b.setText("Kaydet");
+                v = b;
+            }
+            layout(v, 400);
+            v.draw(canvas);
+        }
+        return mx.getThreadAllocatedBytes(tid) - before;
+    }
+
+    private int dp(int v) {
+        return (int) (v * context.getResources().getDisplayMetrics().density);
+    }
+
+    private static void layout(View v, int width) {
+        v.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        v.layout(0, 0, v.getMeasuredWidth(), v.getMeasuredHeight());
+    }
+}
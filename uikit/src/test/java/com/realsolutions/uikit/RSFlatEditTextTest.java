@@ -0,0 +1,314 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.util.AttributeSet;
+import android.view.ContextThemeWrapper;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.accessibility.AccessibilityNodeInfo;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.material.textfield.TextInputEditText;
+import com.google.android.material.textfield.TextInputLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RSFlatEditTextTest {
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(RuntimeEnvironment.getApplication(), R.style.Theme_RSUiKit);
+    }
+
+    @Test
+    public void stateApi_matchesRSEditText() {
+        RSFlatEditText input = new RSFlatEditText(context);
+        assertEquals(RSFlatEditText.STATE_DEFAULT, input.getState());
+
+        input.setErrorState(null);
+        assertEquals(RSEditText.STATE_ERROR, input.getState());
+        input.setSuccessState();
+        assertEquals(RSEditText.STATE_SUCCESS, input.getState());
+        input.clearStatus();
+        assertEquals(RSEditText.STATE_DEFAULT, input.getState());
+    }
+
+    @Test
+    public void focus_togglesFocusedState_butKeepsErrorState() {
+        RSFlatEditText input = new RSFlatEditText(context);
+        RSFlatEditText other = new RSFlatEditText(context);
+        attach(input).addView(other);
+
+        input.requestFocus();
+        assertEquals(RSFlatEditText.STATE_FOCUSED, input.getState());
+        other.requestFocus();
+        assertEquals(RSFlatEditText.STATE_DEFAULT, input.getState());
+
+        input.setErrorState(null);
+        input.requestFocus();
+        assertEquals(RSFlatEditText.STATE_ERROR, input.getState());
+    }
+
+    @Test
+    public void stateChange_doesNotRequestLayout() {
+        RSFlatEditText input = new RSFlatEditText(context);
+        input.setLabel("Sicil No");
+        ViewGroup root = attach(input);
+        measure(root);
+
+        input.setErrorState(null);
+        input.setSuccessState();
+        input.clearStatus();
+
+        assertFalse(input.isLayoutRequested());
+    }
+
+    @Test
+    public void endIcon_followsLayoutDirection() {
+        Canvas canvas = new Canvas(Bitmap.createBitmap(600, 200, Bitmap.Config.ARGB_8888));
+
+        RSFlatEditText ltr = new RSFlatEditText(context);
+        ltr.setErrorState(null);
+        layout(ltr, 600);
+        ltr.draw(canvas);
+        Rect ltrIcon = ltr.getEndIcon().getBounds();
+        assertTrue(ltrIcon.left >= 600 - ltr.getCompoundPaddingEnd());
+        assertTrue(ltrIcon.right <= 600);
+
+        RSFlatEditText rtl = new RSFlatEditText(context);
+        rtl.setLayoutDirection(View.LAYOUT_DIRECTION_RTL);
+        rtl.setErrorState(null);
+        layout(rtl, 600);
+        rtl.draw(canvas);
+        Rect rtlIcon = rtl.getEndIcon().getBounds();
+        assertTrue(rtlIcon.left >= 0);
+        assertTrue(rtlIcon.right <= rtl.getCompoundPaddingEnd());
+        // mirror image of the LTR position
+        assertEquals(600 - ltrIcon.right, rtlIcon.left);
+    }
+
+    /**
+     * View count and onMeasure calls, RSEditText vs RSFlatEditText, for the
+     * same two layout passes (initial + after typing) in a wrap_content parent.
+     *
+     * RSFlatEditText: exactly 1 view and 2 onMeasure calls.
+     * RSEditText: at least 5 views (RSEditText, inflated FrameLayout,
+     * TextInputLayout, its input frame, TextInputEditText; the start / end
+     * icon layouts of TextInputLayout come on top and depend on the Material
+     * version) and at least 8 onMeasure calls (the 4 counted levels, 2 passes).
+     */
+    @Test
+    public void labelAndPlaceholder_areTheAccessibilityHint() {
+        RSFlatEditText input = new RSFlatEditText(context);
+        input.setLabel("Sicil No");
+        assertEquals("Sicil No", hintText(input));
+
+        // CharSequence overload: aynı placeholder, native hint çizilmez
+        input.setHint((CharSequence) "Sicil numaranızı girin");
+        assertEquals("Sicil No, Sicil numaranızı girin", hintText(input));
+        assertEquals(Color.TRANSPARENT, input.getCurrentHintTextColor());
+
+        input.setLabel(null);
+        input.setHint("Ara");
+        assertEquals("Ara", hintText(input));
+    }
+
+    @Test
+    public void xmlAndroidHint_isThePlaceholder_notTheNativeHint() {
+        AttributeSet attrs = Robolectric.buildAttributeSet()
+                .addAttribute(android.R.attr.hint, "Sicil numaranızı girin")
+                .build();
+        RSFlatEditText input = new RSFlatEditText(context, attrs);
+
+        assertEquals("Sicil numaranızı girin", input.getHint().toString());
+        assertEquals(Color.TRANSPARENT, input.getCurrentHintTextColor());
+        assertEquals("Sicil numaranızı girin", hintText(input));
+    }
+
+    @Test
+    public void comparedToRSEditText_fewerViews_andMeasures() {
+        int[] rsMeasures = new int[1];
+        int[] rsLeafMeasures = new int[1];
+        Context counting = new CountingContext(context, rsMeasures, rsLeafMeasures);
+        RSEditText rs = new RSEditText(counting) {
+            @Override
+            protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+                rsMeasures[0]++;
+                super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+            }
+        };
+        rs.setLabel("Sicil No");
+        assertTrue(rs.getEditText() instanceof CountingEditText);
+
+        int[] flatMeasures = new int[1];
+        RSFlatEditText flat = new RSFlatEditText(context) {
+            @Override
+            protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+                flatMeasures[0]++;
+                super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+            }
+        };
+        flat.setLabel("Sicil No");
+
+        ViewGroup rsRoot = attach(rs);
+        ViewGroup flatRoot = attach(flat);
+        measure(rsRoot);
+        measure(flatRoot);
+        // typing: the EditText asks for a new layout, up through its parents
+        rs.setText("12345");
+        rs.getEditText().requestLayout();
+        flat.setText("12345");
+        flat.requestLayout();
+        measure(rsRoot);
+        measure(flatRoot);
+
+        int rsViews = countViews(rs);
+        int flatViews = countViews(flat);
+
+        assertEquals(1, flatViews);
+        assertEquals(2, flatMeasures[0]);
+        assertTrue("RSEditText views: " + rsViews, rsViews >= 5);
+        assertTrue("RSEditText onMeasure: " + rsMeasures[0], rsMeasures[0] >= 8);
+        assertTrue("TextInputEditText onMeasure: " + rsLeafMeasures[0], rsLeafMeasures[0] >= flatMeasures[0]);
+    }
+
+    // ------------------------------------------------------------------
+
+    private ViewGroup attach(View v) {
+        LinearLayout root = new LinearLayout(context);
+        root.setOrientation(LinearLayout.VERTICAL);
+        root.addView(v, new LinearLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        return root;
+    }
+
+    private static void measure(ViewGroup root) {
+        root.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(2000, View.MeasureSpec.AT_MOST));
+        root.layout(0, 0, root.getMeasuredWidth(), root.getMeasuredHeight());
+    }
+
+    private static void layout(View v, int width) {
+        v.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        v.layout(0, 0, v.getMeasuredWidth(), v.getMeasuredHeight());
+    }
+
+    private static String hintText(View v) {
+        AccessibilityNodeInfo info = AccessibilityNodeInfo.obtain();
+        v.onInitializeAccessibilityNodeInfo(info);
+        CharSequence hint = info.getHintText();
+        return hint == null ? null : hint.toString();
+    }
+
+    private static int countViews(View v) {
+        int n = 1;
+        if (v instanceof ViewGroup) {
+            ViewGroup g = (ViewGroup) v;
+            for (int i = 0; i < g.getChildCount(); i++) n += countViews(g.getChildAt(i));
+        }
+        return n;
+    }
+
+    /**
+     * Inflates rs_edit_text.xml with counting subclasses of its views, so
+     * onMeasure calls inside RSEditText can be counted.
+     */
+    private static final class CountingContext extends ContextWrapper {
+
+        private final int[] measures;
+        private final int[] leafMeasures;
+        private LayoutInflater inflater;
+
+        CountingContext(Context base, int[] measures, int[] leafMeasures) {
+            super(base);
+            this.measures = measures;
+            this.leafMeasures = leafMeasures;
+        }
+
+        @Override
+        public Object getSystemService(String name) {
+            if (!LAYOUT_INFLATER_SERVICE.equals(name)) return super.getSystemService(name);
+            if (inflater == null) {
+                inflater = LayoutInflater.from(getBaseContext()).cloneInContext(this);
+                inflater.setFactory2(new LayoutInflater.Factory2() {
+                    @Nullable
+                    @Override
+                    public View onCreateView(@Nullable View parent, @NonNull String tag,
+                                             @NonNull Context c, @NonNull AttributeSet attrs) {
+                        switch (tag) {
+                            case "FrameLayout":
+                                return new FrameLayout(c, attrs) {
+                                    @Override
+                                    protected void onMeasure(int w, int h) {
+                                        measures[0]++;
+                                        super.onMeasure(w, h);
+                                    }
+                                };
+                            case "com.google.android.material.textfield.TextInputLayout":
+                                return new TextInputLayout(c, attrs) {
+                                    @Override
+                                    protected void onMeasure(int w, int h) {
+                                        measures[0]++;
+                                        super.onMeasure(w, h);
+                                    }
+                                };
+                            case "com.google.android.material.textfield.TextInputEditText":
+                                return new CountingEditText(c, attrs, measures, leafMeasures);
+                            default:
+                                return null;
+                        }
+                    }
+
+                    @Nullable
+                    @Override
+                    public View onCreateView(@NonNull String tag, @NonNull Context c, @NonNull AttributeSet attrs) {
+                        return onCreateView(null, tag, c, attrs);
+                    }
+                });
+            }
+            return inflater;
+        }
+    }
+
+    private static final class CountingEditText extends TextInputEditText {
+
+        private final int[] measures;
+        private final int[] leafMeasures;
+
+        CountingEditText(Context context, AttributeSet attrs, int[] measures, int[] leafMeasures) {
+            super(context, attrs);
+            this.measures = measures;
+            this.leafMeasures = leafMeasures;
+        }
+
+        @Override
+        protected void onMeasure(int w, int h) {
+            measures[0]++;
+            leafMeasures[0]++;
+            super.onMeasure(w, h);
+        }
+    }
+}
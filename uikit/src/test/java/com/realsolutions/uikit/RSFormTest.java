@@ -0,0 +1,104 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RSFormTest {
+
+    private static final int FIELDS = 500;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(RuntimeEnvironment.getApplication(), R.style.Theme_RSUiKit);
+    }
+
+    @Test
+    public void onlyVisibleFieldsAreViews() {
+        int small = childViews(50);
+        int large = childViews(5000);
+
+        // 1920 px viewport, two of every three fields are 60 dp inputs: ~40 fit
+        assertTrue(small > 0);
+        assertTrue("RSForm 50 fields -> " + small + " views", small < 50);
+        // view count follows the viewport, not the schema size
+        assertEquals(small, large);
+    }
+
+    private int childViews(int fields) {
+        RSForm form = new RSForm(schema(fields));
+        RecyclerView rv = new RecyclerView(context);
+        form.attach(rv);
+        layout(rv);
+        return rv.getChildCount();
+    }
+
+    @Test
+    public void modelSurvivesRecycling() {
+        RSForm form = new RSForm(schema(FIELDS));
+        RecyclerView rv = new RecyclerView(context);
+        form.attach(rv);
+        layout(rv);
+
+        form.setValue(0, "12345");
+        form.setState(0, RSEditText.STATE_ERROR);
+        form.setState(FIELDS - 1, RSEditText.STATE_SUCCESS);
+
+        rv.scrollToPosition(FIELDS - 1);
+        layout(rv);
+        rv.scrollToPosition(0);
+        layout(rv);
+
+        RSEditText first = (RSEditText) rv.getLayoutManager().findViewByPosition(0);
+        assertNotNull(first);
+        assertEquals("12345", first.getText().toString());
+        assertEquals(RSEditText.STATE_ERROR, first.getState());
+        assertEquals(RSEditText.STATE_SUCCESS, form.getState(FIELDS - 1));
+    }
+
+    @Test
+    public void typing_updatesModel() {
+        RSForm form = new RSForm(schema(10));
+        RecyclerView rv = new RecyclerView(context);
+        form.attach(rv);
+        layout(rv);
+
+        RSEditText first = (RSEditText) rv.getLayoutManager().findViewByPosition(0);
+        first.getEditText().setText("abc");
+
+        assertEquals("abc", form.getValue(0));
+    }
+
+    private static RSForm.Schema schema(int n) {
+        RSForm.Schema s = new RSForm.Schema();
+        for (int i = 0; i < n; i++) {
+            switch (i % 3) {
+                case 0: s.text("Alan " + i, "Değer girin"); break;
+                case 1: s.password("Parola " + i, "Parola girin"); break;
+                default: s.checkBox("Seçenek " + i, RSCheckBox.STATUS_UNCHECKED); break;
+            }
+        }
+        return s;
+    }
+
+    private static void layout(RecyclerView rv) {
+        rv.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.EXACTLY));
+        rv.layout(0, 0, 1080, 1920);
+    }
+}
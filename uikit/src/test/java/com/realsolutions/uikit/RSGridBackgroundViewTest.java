@@ -0,0 +1,71 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.view.ContextThemeWrapper;
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RSGridBackgroundViewTest {
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(RuntimeEnvironment.getApplication(), R.style.Theme_RSUiKit);
+    }
+
+    @Test
+    public void zoomMode_tap_performsClick() {
+        RSGridBackgroundView grid = zoomable();
+        int[] clicks = new int[1];
+        grid.setOnClickListener(v -> clicks[0]++);
+
+        long t = SystemClock.uptimeMillis();
+        touch(grid, t, t, MotionEvent.ACTION_DOWN, 100, 100);
+        touch(grid, t, t + 50, MotionEvent.ACTION_UP, 100, 100);
+
+        assertEquals(1, clicks[0]);
+    }
+
+    @Test
+    public void zoomMode_drag_pansWithoutClick() {
+        RSGridBackgroundView grid = zoomable();
+        int[] clicks = new int[1];
+        grid.setOnClickListener(v -> clicks[0]++);
+
+        long t = SystemClock.uptimeMillis();
+        touch(grid, t, t, MotionEvent.ACTION_DOWN, 100, 100);
+        touch(grid, t, t + 20, MotionEvent.ACTION_MOVE, 200, 180);
+        touch(grid, t, t + 40, MotionEvent.ACTION_MOVE, 300, 260);
+        touch(grid, t, t + 60, MotionEvent.ACTION_UP, 300, 260);
+
+        assertEquals(0, clicks[0]);
+    }
+
+    private RSGridBackgroundView zoomable() {
+        RSGridBackgroundView grid = new RSGridBackgroundView(context);
+        grid.setZoomEnabled(true);
+        grid.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY));
+        grid.layout(0, 0, 1080, 1080);
+        return grid;
+    }
+
+    private static void touch(View v, long downTime, long time, int action, float x, float y) {
+        MotionEvent e = MotionEvent.obtain(downTime, time, action, x, y, 0);
+        v.dispatchTouchEvent(e);
+        e.recycle();
+    }
+}
@@ -0,0 +1,151 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.google.android.material.textfield.TextInputEditText;
+import com.google.android.material.textfield.TextInputLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Builder output must look exactly like the inflated component,
+ * while creating fewer views and allocating less.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RSInputBuilderTest {
+
+    private static final int ROUNDS = 50;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(RuntimeEnvironment.getApplication(), R.style.Theme_RSUiKit);
+    }
+
+    @Test
+    public void editTextBuilder_matchesInflated() {
+        RSEditText inflated = new RSEditText(context);
+        inflated.setLabel("Sicil No");
+        inflated.setHint("Sicil numaranızı girin");
+
+        RSEditText built = new RSEditText.Builder(context)
+                .setLabel("Sicil No")
+                .setHint("Sicil numaranızı girin")
+                .build();
+
+        assertSameInput(inflated, built);
+        assertEquals(inflated.getState(), built.getState());
+    }
+
+    @Test
+    public void passwordBuilder_matchesInflated() {
+        RSPasswordInput inflated = new RSPasswordInput(context);
+        inflated.setLabel("Parola");
+        inflated.setHint("Parolanızı girin");
+
+        RSPasswordInput built = new RSPasswordInput.Builder(context)
+                .setLabel("Parola")
+                .setHint("Parolanızı girin")
+                .build();
+
+        assertSameInput(inflated, built);
+        assertEquals(inflated.getEditText().getInputType(), built.getEditText().getInputType());
+    }
+
+    @Test
+    public void builder_createsFewerViews() {
+        int inflatedViews = countViews(new RSEditText(context));
+        int builtViews = countViews(new RSEditText.Builder(context).build());
+
+        // builder adds the TextInputLayout straight to the host: no inflated root FrameLayout
+        assertEquals(inflatedViews - 1, builtViews);
+    }
+
+    @Test
+    public void builder_allocatesLess() {
+        // warm up both paths (class loading, resource caches)
+        allocatedBytes(true);
+        allocatedBytes(false);
+
+        long inflated = allocatedBytes(false);
+        long built = allocatedBytes(true);
+
+        assertTrue("bytes/instance: inflated=" + inflated / ROUNDS + " builder=" + built / ROUNDS,
+                built < inflated);
+    }
+
+    private long allocatedBytes(boolean useBuilder) {
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+
+        long before = mx.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < ROUNDS; i++) {
+            if (useBuilder) {
+                new RSEditText.Builder(context).setLabel("Label").setHint("Hint").build();
+            } else {
+                RSEditText e = new RSEditText(context);
+                e.setLabel("Label");
+                e.setHint("Hint");
+            }
+        }
+        return mx.getThreadAllocatedBytes(tid) - before;
+    }
+
+    private static void assertSameInput(ViewGroup inflated, ViewGroup built) {
+        TextInputLayout a = inflated.findViewById(R.id.til);
+        TextInputLayout b = built.findViewById(R.id.til);
+        TextInputEditText ea = inflated.findViewById(R.id.et);
+        TextInputEditText eb = built.findViewById(R.id.et);
+
+        assertNotNull(b);
+        assertNotNull(eb);
+        assertSame(eb, b.getEditText());
+
+        assertEquals(String.valueOf(a.getHint()), String.valueOf(b.getHint()));
+        assertEquals(String.valueOf(a.getPlaceholderText()), String.valueOf(b.getPlaceholderText()));
+        assertEquals(a.getPlaceholderTextColor().getDefaultColor(), b.getPlaceholderTextColor().getDefaultColor());
+        assertEquals(a.getBoxBackgroundMode(), b.getBoxBackgroundMode());
+        assertEquals(a.getBoxCornerRadiusTopStart(), b.getBoxCornerRadiusTopStart(), 0.01f);
+        assertEquals(a.getBoxCornerRadiusTopEnd(), b.getBoxCornerRadiusTopEnd(), 0.01f);
+        assertEquals(a.getBoxCornerRadiusBottomStart(), b.getBoxCornerRadiusBottomStart(), 0.01f);
+        assertEquals(a.getBoxCornerRadiusBottomEnd(), b.getBoxCornerRadiusBottomEnd(), 0.01f);
+        assertEquals(a.getBoxStrokeWidth(), b.getBoxStrokeWidth());
+        assertEquals(a.getBoxStrokeWidthFocused(), b.getBoxStrokeWidthFocused());
+        assertEquals(a.isHintEnabled(), b.isHintEnabled());
+        assertEquals(a.getEndIconMode(), b.getEndIconMode());
+        assertEquals(a.isEndIconVisible(), b.isEndIconVisible());
+
+        assertEquals(ea.getPaddingStart(), eb.getPaddingStart());
+        assertEquals(ea.getPaddingTop(), eb.getPaddingTop());
+        assertEquals(ea.getPaddingEnd(), eb.getPaddingEnd());
+        assertEquals(ea.getPaddingBottom(), eb.getPaddingBottom());
+        assertEquals(ea.getMinHeight(), eb.getMinHeight());
+        assertEquals(ea.getTextSize(), eb.getTextSize(), 0.01f);
+        assertEquals(ea.getCurrentTextColor(), eb.getCurrentTextColor());
+        assertEquals(ea.getMaxLines(), eb.getMaxLines());
+        assertNull(eb.getBackground());
+    }
+
+    private static int countViews(View v) {
+        int n = 1;
+        if (v instanceof ViewGroup) {
+            ViewGroup g = (ViewGroup) v;
+            for (int i = 0; i < g.getChildCount(); i++) n += countViews(g.getChildAt(i));
+        }
+        return n;
+    }
+}
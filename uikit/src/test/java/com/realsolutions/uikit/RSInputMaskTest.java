@@ -0,0 +1,107 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.text.Editable;
+import android.text.Selection;
+import android.view.ContextThemeWrapper;
+import android.widget.EditText;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RSInputMaskTest {
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(RuntimeEnvironment.getApplication(), R.style.Theme_RSUiKit);
+    }
+
+    @Test
+    public void compile_escapesAndSlots() {
+        RSInputMask mask = RSInputMask.compile("\\A-A#*");
+        assertEquals(3, mask.getSlotCount());
+        assertEquals("b1c", mask.unmask("A-b1c"));
+    }
+
+    @Test
+    public void typing_insertsLiterals() {
+        RSEditText input = new RSEditText.Builder(context).setMask("(###) ### ## ##").build();
+        EditText et = input.getEditText();
+
+        type(et, "5321234567");
+
+        assertEquals("(532) 123 45 67", et.getText().toString());
+        assertEquals(et.length(), et.getSelectionEnd());
+        assertEquals("5321234567", input.getUnmaskedText());
+    }
+
+    @Test
+    public void invalidAndExtraChars_areDropped() {
+        RSEditText input = new RSEditText.Builder(context).setMask("##-##").build();
+        EditText et = input.getEditText();
+
+        type(et, "1x2a345");
+
+        assertEquals("12-34", et.getText().toString());
+    }
+
+    @Test
+    public void insertInMiddle_keepsCursorAfterInsertedChar() {
+        RSEditText input = new RSEditText.Builder(context).setMask("###-###").build();
+        EditText et = input.getEditText();
+        type(et, "12456");
+        assertEquals("124-56", et.getText().toString());
+
+        // cursor after "12", type 3
+        Selection.setSelection(et.getText(), 2);
+        et.getText().insert(2, "3");
+
+        assertEquals("123-456", et.getText().toString());
+        assertEquals(3, et.getSelectionEnd());
+    }
+
+    @Test
+    public void backspaceOverLiteral_deletesPrecedingDigit() {
+        RSEditText input = new RSEditText.Builder(context).setMask("###-###").build();
+        EditText et = input.getEditText();
+        type(et, "1234");
+        assertEquals("123-4", et.getText().toString());
+
+        // cursor right after '-', backspace
+        Editable e = et.getText();
+        Selection.setSelection(e, 4);
+        e.delete(3, 4);
+
+        assertEquals("124", et.getText().toString());
+        assertEquals(2, et.getSelectionEnd());
+    }
+
+    @Test
+    public void leadingLiterals() {
+        RSEditText input = new RSEditText.Builder(context).setMask("TR## ####").build();
+        EditText et = input.getEditText();
+
+        type(et, "123456");
+
+        assertEquals("TR12 3456", et.getText().toString());
+        assertEquals("123456", input.getUnmaskedText());
+    }
+
+    private static void type(EditText et, String chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            Editable e = et.getText();
+            int at = et.getSelectionEnd() < 0 ? e.length() : et.getSelectionEnd();
+            e.insert(at, chars.substring(i, i + 1));
+        }
+    }
+}
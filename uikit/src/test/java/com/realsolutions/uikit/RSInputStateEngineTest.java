@@ -0,0 +1,72 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RSInputStateEngineTest {
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(RuntimeEnvironment.getApplication(), R.style.Theme_RSUiKit);
+    }
+
+    @Test
+    public void repeatedErrorState_doesNoWork() {
+        RSEditText input = new RSEditText.Builder(context).build();
+
+        input.setErrorState(null);
+        int writes = input.getStateWriteCount();
+
+        input.setErrorState(null);
+        input.setErrorState(null);
+        assertEquals(writes, input.getStateWriteCount());
+    }
+
+    @Test
+    public void focusAndBack_writesOnlyChangedProperties() {
+        RSEditText input = new RSEditText.Builder(context).build();
+        int writes = input.getStateWriteCount();
+
+        // stroke + hint + background; end icon stays hidden
+        input.setState(RSEditText.STATE_FOCUSED);
+        assertEquals(writes + 3, input.getStateWriteCount());
+
+        input.clearStatus();
+        assertEquals(writes + 6, input.getStateWriteCount());
+    }
+
+    @Test
+    public void errorToSuccess_swapsIconWithoutTouchingVisibility() {
+        RSEditText input = new RSEditText.Builder(context).build();
+        input.setErrorState(null);
+        int writes = input.getStateWriteCount();
+
+        // stroke + hint + icon + tint (background and visibility unchanged)
+        input.setSuccessState();
+        assertEquals(writes + 4, input.getStateWriteCount());
+    }
+
+    @Test
+    public void passwordInput_repeatedStateDoesNoWork() {
+        RSPasswordInput input = new RSPasswordInput.Builder(context).build();
+
+        input.setErrorState();
+        int writes = input.getStateWriteCount();
+
+        input.setErrorState();
+        assertEquals(writes, input.getStateWriteCount());
+    }
+}
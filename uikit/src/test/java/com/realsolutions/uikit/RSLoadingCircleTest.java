@@ -0,0 +1,56 @@
+package com.realsolutions.uikit;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RSLoadingCircleTest {
+
+    @Test
+    public void batterySaverToggle_recomputesFrameCap_whileRunning() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        Context context = new ContextThemeWrapper(activity, R.style.Theme_RSUiKit);
+        RSLoadingCircle circle = new RSLoadingCircle(context);
+        circle.setPauseOnWindowFocusLoss(false);
+        activity.setContentView(circle);
+        shadowOf(Looper.getMainLooper()).idle();
+
+        RSFrameTicker ticker = RSFrameTicker.get();
+        assertTrue(ticker.isRegistered(circle));
+        assertTrue(ticker.isPowerSaveReceiverRegistered());
+        assertEquals(0, circle.getMinFrameIntervalMs());
+
+        // circle zaten dönerken battery saver açılır: cap yeniden hesaplanmalı
+        PowerManager pm = context.getSystemService(PowerManager.class);
+        shadowOf(pm).setIsPowerSaveMode(true);
+        context.sendBroadcast(new Intent(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED));
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(1000L / 30 - 2, circle.getMinFrameIntervalMs());
+
+        shadowOf(pm).setIsPowerSaveMode(false);
+        context.sendBroadcast(new Intent(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED));
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(0, circle.getMinFrameIntervalMs());
+
+        // son circle çıkınca receiver da kalkar
+        circle.setVisibility(View.GONE);
+        shadowOf(Looper.getMainLooper()).idle();
+        assertFalse(ticker.isRegistered(circle));
+        assertFalse(ticker.isPowerSaveReceiverRegistered());
+    }
+}
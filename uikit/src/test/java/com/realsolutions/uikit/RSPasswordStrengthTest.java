@@ -0,0 +1,143 @@
+package com.realsolutions.uikit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class RSPasswordStrengthTest {
+
+    private RSPasswordDictionary dict;
+
+    @Before
+    public void setUp() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RSPasswordDictionary.write(Arrays.asList("password", "pass", "qwerty", "123456", "galatasaray", "Password"), out);
+        dict = RSPasswordDictionary.fromBuffer(ByteBuffer.wrap(out.toByteArray()));
+    }
+
+    @Test
+    public void dictionary_roundTrip() {
+        assertEquals(5, dict.getWordCount());
+        assertTrue(dict.contains("password"));
+        assertTrue(dict.contains("QWERTY"));
+        assertTrue(dict.contains("pass"));
+        assertFalse(dict.contains("passw"));
+        assertFalse(dict.contains("qwertyu"));
+    }
+
+    @Test
+    public void dictionary_foldsEveryIVariantToI() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RSPasswordDictionary.write(Arrays.asList("İstanbul", "IRMAK", "iloveyou", "qwertyuiop"), out);
+        RSPasswordDictionary tr = RSPasswordDictionary.fromBuffer(ByteBuffer.wrap(out.toByteArray()));
+
+        // İngilizce: I -> i (Türkçe kuralı I -> ı olsaydı kaçardı)
+        assertTrue(tr.contains("ILOVEYOU"));
+        assertTrue(tr.contains("Iloveyou"));
+        assertTrue(tr.contains("QWERTYUIOP"));
+        // Türkçe: I, İ, ı hepsi aynı
+        assertTrue(tr.contains("istanbul"));
+        assertTrue(tr.contains("İSTANBUL"));
+        assertTrue(tr.contains("ISTANBUL"));
+        assertTrue(tr.contains("irmak"));
+        assertTrue(tr.contains("ırmak"));
+        assertFalse(tr.contains("ırmaklar"));
+
+        RSPasswordStrength s = new RSPasswordStrength(tr);
+        type(s, "x1İSTANBUL!");
+        assertEquals(8, s.getLongestMatch());
+
+        s = new RSPasswordStrength(tr);
+        type(s, "ILOVEYOU1");
+        assertEquals(8, s.getLongestMatch());
+    }
+
+    @Test
+    public void readDirect_sizedOrGrowing() throws Exception {
+        byte[] data = new byte[40_000];
+        for (int i = 0; i < data.length; i++) data[i] = (byte) i;
+
+        // available() exact (AssetInputStream) and unknown (0)
+        ByteBuffer exact = RSPasswordDictionary.readDirect(new ByteArrayInputStream(data));
+        ByteBuffer grown = RSPasswordDictionary.readDirect(new FilterInputStream(new ByteArrayInputStream(data)) {
+            @Override
+            public int available() {
+                return 0;
+            }
+        });
+
+        for (ByteBuffer b : new ByteBuffer[]{exact, grown}) {
+            assertTrue(b.isDirect());
+            assertEquals(data.length, b.capacity());
+            assertEquals(data.length, b.remaining());
+            assertEquals(data[39_999], b.get(39_999));
+        }
+    }
+
+    @Test
+    public void dictionaryWord_isVeryWeak() {
+        RSPasswordStrength s = new RSPasswordStrength(dict);
+        assertEquals(RSPasswordStrength.STRENGTH_VERY_WEAK, type(s, "Galatasaray"));
+        assertTrue(s.isDictionaryWord());
+    }
+
+    @Test
+    public void containedWord_lowersScore() {
+        RSPasswordStrength withDict = new RSPasswordStrength(dict);
+        RSPasswordStrength noDict = new RSPasswordStrength(null);
+
+        type(withDict, "xqwerty!7Z");
+        type(noDict, "xqwerty!7Z");
+
+        assertEquals(6, withDict.getLongestMatch());
+        assertTrue(withDict.getStrength() < noDict.getStrength());
+    }
+
+    @Test
+    public void strongPassword() {
+        RSPasswordStrength s = new RSPasswordStrength(dict);
+        assertEquals(RSPasswordStrength.STRENGTH_STRONG, type(s, "k7#Vm2!qL9$w"));
+    }
+
+    @Test
+    public void incremental_matchesFullRecompute() {
+        RSPasswordStrength inc = new RSPasswordStrength(dict);
+        StringBuilder text = new StringBuilder();
+
+        // type, backspace, edit in the middle
+        for (char c : "mypassword1".toCharArray()) {
+            text.append(c);
+            inc.update(text, text.length() - 1);
+        }
+        text.setLength(text.length() - 3);
+        inc.update(text, text.length());
+        text.insert(2, "X");
+        inc.update(text, 2);
+
+        RSPasswordStrength full = new RSPasswordStrength(dict);
+        full.update(text, 0);
+
+        assertEquals(full.getStrength(), inc.getStrength());
+        assertEquals(full.getLongestMatch(), inc.getLongestMatch());
+        assertEquals(4, inc.getLongestMatch()); // "myXpasswo" contains "pass"
+    }
+
+    @Test
+    public void empty_isNone() {
+        RSPasswordStrength s = new RSPasswordStrength(dict);
+        assertEquals(RSPasswordStrength.STRENGTH_NONE, s.update("", 0));
+    }
+
+    private static int type(RSPasswordStrength s, String text) {
+        int r = RSPasswordStrength.STRENGTH_NONE;
+        for (int i = 1; i <= text.length(); i++) r = s.update(text.substring(0, i), i - 1);
+        return r;
+    }
+}
@@ -0,0 +1,160 @@
+package com.realsolutions.uikit;
+
+import android.app.Activity;
+import android.content.Context;
+import android.os.Looper;
+import android.view.ContextThemeWrapper;
+import android.widget.ListView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RSPrefixIndexTest {
+
+    private static final String[] STATIONS = {
+            "Kadıköy", "Kartal", "ISPARTA", "İstanbul", "Şişli", "Ankara", "Kadirli", "kadıköy iskele"
+    };
+
+    @Test
+    public void query_returnsMatches_inKeyOrder() {
+        RSPrefixIndex index = RSPrefixIndex.build(STATIONS, RSPrefixIndex.FOLD_CASE);
+        int[] ids = new int[8];
+
+        int n = index.query("KAD", ids);
+
+        assertEquals(3, n);
+        assertEquals("Kadirli", index.getEntry(ids[0]));
+        assertEquals("Kadıköy", index.getEntry(ids[1]));
+        assertEquals("kadıköy iskele", index.getEntry(ids[2]));
+    }
+
+    @Test
+    public void query_isLimitedTo_outLength() {
+        RSPrefixIndex index = RSPrefixIndex.build(STATIONS, RSPrefixIndex.FOLD_CASE);
+        int[] ids = new int[2];
+
+        assertEquals(2, index.query("ka", ids));
+        assertEquals(0, index.query("x", ids));
+        assertEquals(0, index.query("", ids));
+    }
+
+    @Test
+    public void turkishCase_foldsDottedAndDotlessI() {
+        RSPrefixIndex index = RSPrefixIndex.build(STATIONS, RSPrefixIndex.FOLD_CASE);
+        int[] ids = new int[8];
+
+        // I -> ı, İ -> i
+        assertEquals(1, index.query("ıspar", ids));
+        assertEquals("ISPARTA", index.getEntry(ids[0]));
+        assertEquals(1, index.query("ist", ids));
+        assertEquals("İstanbul", index.getEntry(ids[0]));
+        assertEquals(0, index.query("isp", ids));
+    }
+
+    @Test
+    public void asciiFold_matchesWithoutTurkishCharacters() {
+        RSPrefixIndex index = RSPrefixIndex.build(STATIONS, RSPrefixIndex.FOLD_ASCII);
+        int[] ids = new int[8];
+
+        assertEquals(1, index.query("sisli", ids));
+        assertEquals("Şişli", index.getEntry(ids[0]));
+        assertEquals(1, index.query("isp", ids));
+        assertEquals(2, index.query("kadik", ids));
+    }
+
+    @Test
+    public void largeCatalog_queryIsFast_andDoesNotAllocate() {
+        String[] entries = new String[200_000];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = String.format(Locale.ROOT, "P%06d Personel", (i * 7919) % entries.length);
+        }
+        RSPrefixIndex index = RSPrefixIndex.build(entries, RSPrefixIndex.FOLD_CASE);
+        int[] ids = new int[10];
+        String[] prefixes = {"p1", "p12", "p0999", "p19999", "p5"};
+
+        // warm-up (JIT)
+        for (int i = 0; i < 20_000; i++) index.query(prefixes[i % prefixes.length], ids);
+
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+        int queries = 10_000;
+        long before = mx.getThreadAllocatedBytes(tid);
+        long t = System.nanoTime();
+        for (int i = 0; i < queries; i++) index.query(prefixes[i % prefixes.length], ids);
+        long avgNs = (System.nanoTime() - t) / queries;
+        long bytes = mx.getThreadAllocatedBytes(tid) - before;
+
+        assertEquals(10, index.query("p12", ids));
+        assertTrue(index.getEntry(ids[0]).startsWith("P12"));
+        assertTrue("avg query " + avgNs + " ns", avgNs < 1_000_000);
+        assertTrue("allocated " + bytes + " bytes", bytes < queries);
+    }
+
+    @Test
+    public void editText_showsSuggestions_andPicksEntry() {
+        Context context = new ContextThemeWrapper(RuntimeEnvironment.getApplication(), R.style.Theme_RSUiKit);
+        RSEditText input = new RSEditText.Builder(context).build();
+        input.setAutocomplete(RSPrefixIndex.build(STATIONS, RSPrefixIndex.FOLD_ASCII), 4);
+        int[] picked = {-1};
+        input.setOnSuggestionClickListener((id, entry) -> picked[0] = id);
+
+        input.setText("kadi");
+        RSAutocomplete ac = input.getAutocompleteAdapter();
+        assertNotNull(ac);
+        assertEquals(3, ac.getCount());
+        assertEquals("Kadıköy", ac.getItem(0));
+        assertEquals("Kadirli", ac.getItem(2));
+
+        ac.pick(0);
+
+        assertEquals("Kadıköy", input.getText().toString());
+        assertEquals(0, picked[0]);
+        // seçim metni tekrar sorgulamaz
+        assertEquals(3, ac.getCount());
+
+        input.setAutocomplete(null);
+        assertNull(input.getAutocomplete());
+    }
+
+    @Test
+    public void openPopup_isRemeasured_whenResultCountChanges() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        Context context = new ContextThemeWrapper(activity, R.style.Theme_RSUiKit);
+        RSEditText input = new RSEditText.Builder(context).build();
+        activity.setContentView(input);
+        input.setAutocomplete(RSPrefixIndex.build(STATIONS, RSPrefixIndex.FOLD_ASCII), 4);
+        input.getEditText().requestFocus();
+        RSAutocomplete ac = input.getAutocompleteAdapter();
+
+        input.setText("ka");
+        shadowOf(Looper.getMainLooper()).idle();
+        assertTrue(ac.isShowing());
+        assertEquals(4, ac.getCount());
+        ListView list = ac.getListView();
+        int fourRows = list.getHeight();
+        assertTrue(fourRows > 0);
+
+        // popup stays open, one row left: the dropdown must shrink with it
+        input.setText("kart");
+        shadowOf(Looper.getMainLooper()).idle();
+        assertTrue(ac.isShowing());
+        assertEquals(1, ac.getCount());
+        assertTrue(list.getHeight() + " < " + fourRows, list.getHeight() < fourRows);
+        assertEquals(1, list.getChildCount());
+
+        input.setText("kartx");
+        assertFalse(ac.isShowing());
+    }
+}
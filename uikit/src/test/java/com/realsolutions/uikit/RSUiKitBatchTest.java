@@ -0,0 +1,120 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.os.Looper;
+import android.view.ContextThemeWrapper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.time.Duration;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RSUiKitBatchTest {
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(RuntimeEnvironment.getApplication(), R.style.Theme_RSUiKit);
+    }
+
+    @Test
+    public void batch_defersAndCoalescesInputStates() {
+        RSEditText input = new RSEditText.Builder(context).build();
+        int writes = input.getStateWriteCount();
+
+        RSUiKit.batch(() -> {
+            input.setErrorState(null);
+            input.setSuccessState();
+            input.setErrorState(null);
+        });
+
+        // value is visible immediately, application waits for the frame
+        assertEquals(RSEditText.STATE_ERROR, input.getState());
+        assertEquals(writes, input.getStateWriteCount());
+
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(20));
+
+        int afterBatch = input.getStateWriteCount();
+        assertTrue(afterBatch > writes);
+
+        // same final state applied directly writes the same properties once
+        RSEditText direct = new RSEditText.Builder(context).build();
+        int directWrites = direct.getStateWriteCount();
+        direct.setErrorState(null);
+        assertEquals(direct.getStateWriteCount() - directWrites, afterBatch - writes);
+    }
+
+    @Test
+    public void batch_defersCheckBoxDrawable_notCheckedFlag() {
+        RSCheckBox cb = new RSCheckBox(context);
+        boolean[] heard = new boolean[1];
+        cb.setOnCheckedChangeListener((button, checked) -> heard[0] = checked);
+
+        RSUiKit.beginBatch();
+        cb.setStatus(RSCheckBox.STATUS_CHECKED);
+        // model and listener are current inside the batch
+        assertEquals(RSCheckBox.STATUS_CHECKED, cb.getStatus());
+        assertTrue(cb.isChecked());
+        assertTrue(heard[0]);
+        // drawable still shows the old status
+        assertFalse(hasState(cb, android.R.attr.state_checked));
+        RSUiKit.endBatch();
+
+        RSUiKit.flush();
+        assertTrue(hasState(cb, android.R.attr.state_checked));
+    }
+
+    @Test
+    public void batch_indeterminate_refreshesOnceWithLastStatus() {
+        RSCheckBox cb = new RSCheckBox(context);
+
+        RSUiKit.batch(() -> {
+            cb.setStatus(RSCheckBox.STATUS_CHECKED);
+            cb.setStatus(RSCheckBox.STATUS_INDETERMINATE);
+            assertFalse(cb.isChecked());
+        });
+        assertFalse(hasState(cb, R.attr.state_indeterminate));
+
+        RSUiKit.flush();
+        assertTrue(hasState(cb, R.attr.state_indeterminate));
+        assertFalse(hasState(cb, android.R.attr.state_checked));
+    }
+
+    @Test
+    public void nestedBatches_applyAtOutermostEnd() {
+        RSPasswordInput input = new RSPasswordInput.Builder(context).build();
+        int writes = input.getStateWriteCount();
+
+        RSUiKit.beginBatch();
+        RSUiKit.batch(input::setErrorState);
+        assertTrue(RSUiKit.isBatching());
+        RSUiKit.endBatch();
+
+        assertFalse(RSUiKit.isBatching());
+        assertEquals(writes, input.getStateWriteCount());
+        RSUiKit.flush();
+        assertTrue(input.getStateWriteCount() > writes);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void endWithoutBegin_throws() {
+        RSUiKit.endBatch();
+    }
+
+    private static boolean hasState(RSCheckBox cb, int state) {
+        for (int s : cb.getDrawableState()) {
+            if (s == state) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,122 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RSUiKitMetricsTest {
+
+    private Context context;
+    private final CountingListener listener = new CountingListener();
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(RuntimeEnvironment.getApplication(), R.style.Theme_RSUiKit);
+    }
+
+    @After
+    public void tearDown() {
+        RSUiKitMetrics.setListener(null);
+    }
+
+    @Test
+    public void listener_receivesInitAndStateTimings() {
+        RSUiKitMetrics.setListener(listener);
+
+        RSEditText input = new RSEditText(context);
+        input.setState(RSEditText.STATE_ERROR);
+        new RSButton(context).applyType(RSButton.TYPE_SECONDARY);
+
+        assertEquals(1, listener.init[RSUiKitMetrics.COMPONENT_EDIT_TEXT]);
+        assertEquals(1, listener.init[RSUiKitMetrics.COMPONENT_BUTTON]);
+        // initial applyState + setState
+        assertEquals(2, listener.state[RSUiKitMetrics.COMPONENT_EDIT_TEXT]);
+        assertEquals(RSEditText.STATE_ERROR, listener.lastValue);
+        // initial applyType + switch
+        assertEquals(2, listener.state[RSUiKitMetrics.COMPONENT_BUTTON]);
+    }
+
+    @Test
+    public void sampling_reportsOneOfN() {
+        RSUiKitMetrics.setListener(listener, 4);
+
+        RSCheckBox cb = new RSCheckBox(context);
+        for (int i = 0; i < 40; i++) cb.setStatus(i % 3);
+
+        int reported = listener.state[RSUiKitMetrics.COMPONENT_CHECKBOX];
+        assertTrue("reported " + reported, reported >= 9 && reported <= 11);
+    }
+
+    @Test
+    public void noListener_hooksAllocateNothing() {
+        RSUiKitMetrics.setListener(null);
+
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+
+        for (int i = 0; i < 1000; i++) hooks();
+        long before = mx.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < 10000; i++) hooks();
+        long bytes = mx.getThreadAllocatedBytes(tid) - before;
+
+        assertTrue("allocated " + bytes, bytes < 10000);
+        assertEquals(0, listener.total());
+    }
+
+    private static void hooks() {
+        long t = RSUiKitMetrics.begin();
+        RSUiKitMetrics.endState(RSUiKitMetrics.COMPONENT_CHECKBOX, 1, t);
+        RSUiKitMetrics.endDraw(RSUiKitMetrics.COMPONENT_GRID, t);
+        RSUiKitMetrics.countFrame(RSUiKitMetrics.COMPONENT_GRID);
+        RSUiKitMetrics.countInvalidate(RSUiKitMetrics.COMPONENT_GRID);
+    }
+
+    private static final class CountingListener implements RSUiKitMetrics.Listener {
+
+        final int[] init = new int[RSUiKitMetrics.COMPONENT_COUNT];
+        final int[] state = new int[RSUiKitMetrics.COMPONENT_COUNT];
+        final int[] draw = new int[RSUiKitMetrics.COMPONENT_COUNT];
+        int rates;
+        int lastValue = -1;
+
+        @Override
+        public void onInit(int component, long durationNanos) {
+            init[component]++;
+        }
+
+        @Override
+        public void onStateApplied(int component, int value, long durationNanos) {
+            state[component]++;
+            lastValue = value;
+        }
+
+        @Override
+        public void onDraw(int component, long durationNanos) {
+            draw[component]++;
+        }
+
+        @Override
+        public void onRates(int component, int frames, int invalidations, long windowMs) {
+            rates++;
+        }
+
+        int total() {
+            int n = rates;
+            for (int i = 0; i < RSUiKitMetrics.COMPONENT_COUNT; i++) n += init[i] + state[i] + draw[i];
+            return n;
+        }
+    }
+}
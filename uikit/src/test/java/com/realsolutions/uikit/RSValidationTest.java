@@ -0,0 +1,139 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.os.Looper;
+import android.view.ContextThemeWrapper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RSValidationTest {
+
+    private Context context;
+    // validator işleri burada bekler, test sırayı kendisi belirler
+    private final PausedExecutor background = new PausedExecutor();
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(RuntimeEnvironment.getApplication(), R.style.Theme_RSUiKit);
+        RSValidation.setExecutor(background);
+    }
+
+    @After
+    public void tearDown() {
+        RSValidation.setExecutor(null);
+    }
+
+    @Test
+    public void keystrokes_areCoalesced_intoOneValidation() {
+        List<String> seen = new ArrayList<>();
+        RSEditText input = new RSEditText.Builder(context).build();
+        input.setValidator(text -> {
+            seen.add(text);
+            return text.length() == 5 ? RSEditText.STATE_SUCCESS : RSEditText.STATE_ERROR;
+        }, 250);
+
+        for (String s : new String[]{"1", "12", "123", "1234", "12345"}) {
+            input.setText(s);
+            shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(50));
+        }
+        assertEquals(0, background.pending());
+
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(300));
+        assertEquals(1, background.pending());
+        background.runAll();
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertEquals(1, seen.size());
+        assertEquals("12345", seen.get(0));
+        assertEquals(RSEditText.STATE_SUCCESS, input.getState());
+    }
+
+    @Test
+    public void staleResult_isDropped() {
+        RSEditText input = new RSEditText.Builder(context).build();
+        input.setValidator(text -> text.equals("slow") ? RSEditText.STATE_SUCCESS : RSEditText.STATE_ERROR, 0);
+
+        input.setText("slow");
+        shadowOf(Looper.getMainLooper()).idle();
+        // newer text while "slow" is still validating
+        input.setText("x");
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(2, background.pending());
+
+        // "slow" finishes first, its result is posted before the newer one
+        background.runNext();
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(RSEditText.STATE_DEFAULT, input.getState());
+
+        background.runNext();
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(RSEditText.STATE_ERROR, input.getState());
+    }
+
+    @Test
+    public void validateNow_skipsDebounce() {
+        RSEditText input = new RSEditText.Builder(context).build();
+        input.setValidator(text -> RSEditText.STATE_ERROR, 10_000);
+        input.setText("1");
+
+        input.validate();
+        background.runAll();
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertEquals(RSEditText.STATE_ERROR, input.getState());
+    }
+
+    @Test
+    public void throwingValidator_keepsState() {
+        RSEditText input = new RSEditText.Builder(context).build();
+        input.setValidator(text -> {
+            throw new IllegalStateException("broken");
+        }, 0);
+
+        input.setText("1");
+        shadowOf(Looper.getMainLooper()).idle();
+        background.runAll();
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertEquals(RSEditText.STATE_DEFAULT, input.getState());
+    }
+
+    private static final class PausedExecutor implements Executor {
+
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable r) {
+            tasks.addLast(r);
+        }
+
+        int pending() {
+            return tasks.size();
+        }
+
+        void runNext() {
+            tasks.removeFirst().run();
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) runNext();
+        }
+    }
+}
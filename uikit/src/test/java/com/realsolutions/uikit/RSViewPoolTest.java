@@ -0,0 +1,175 @@
+package com.realsolutions.uikit;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.res.Resources;
+import android.os.Looper;
+import android.view.ContextThemeWrapper;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RSViewPoolTest {
+
+    private Context context;
+    private RSViewPool pool;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(RuntimeEnvironment.getApplication(), R.style.Theme_RSUiKit);
+        pool = new RSViewPool(context);
+    }
+
+    @Test
+    public void release_resetsAndReuses() {
+        RSEditText input = pool.obtainEditText();
+        input.setLabel("Sicil No");
+        input.setHint("Sicil numaranızı girin");
+        input.setText("12345");
+        input.setErrorState(null);
+
+        assertTrue(pool.release(input));
+        assertEquals(1, pool.getAvailable(RSViewPool.TYPE_EDIT_TEXT));
+
+        RSEditText again = pool.obtainEditText();
+        assertSame(input, again);
+        assertEquals("", again.getText().toString());
+        assertEquals(RSEditText.STATE_DEFAULT, again.getState());
+        assertNull(again.getLabel());
+        assertNull(again.getHint());
+
+        RSCheckBox cb = pool.obtainCheckBox();
+        cb.setStatus(RSCheckBox.STATUS_INDETERMINATE);
+        pool.release(cb);
+        assertEquals(RSCheckBox.STATUS_UNCHECKED, pool.obtainCheckBox().getStatus());
+    }
+
+    @Test
+    public void release_configuredViews_comeBackClean() {
+        RSEditText input = pool.obtainEditText();
+        int[] picks = new int[1];
+        input.setValidator(text -> RSEditText.STATE_ERROR, 0);
+        input.setMask("###-###");
+        input.setAutocomplete(RSPrefixIndex.build(new String[]{"Ankara", "Antalya"}, RSPrefixIndex.FOLD_CASE));
+        input.setOnSuggestionClickListener((id, entry) -> picks[0]++);
+        pool.release(input);
+
+        RSEditText again = pool.obtainEditText();
+        assertSame(input, again);
+        assertNull(again.getMask());
+        assertNull(again.getAutocomplete());
+        assertNull(again.getAutocompleteAdapter());
+        again.setText("An");
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals("An", again.getText().toString());
+        assertEquals(RSEditText.STATE_DEFAULT, again.getState());
+        assertEquals(0, picks[0]);
+
+        RSPasswordInput password = pool.obtainPasswordInput();
+        int[] strengthCalls = new int[1];
+        password.setValidator(text -> RSPasswordInput.STATE_ERROR, 0);
+        password.setStrengthDictionary(null, true);
+        password.setStrengthAppliesState(true);
+        password.setOnStrengthChangeListener(s -> strengthCalls[0]++);
+        pool.release(password);
+        strengthCalls[0] = 0;
+
+        RSPasswordInput samePassword = pool.obtainPasswordInput();
+        assertSame(password, samePassword);
+        samePassword.setText("a");
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(RSPasswordStrength.STRENGTH_NONE, samePassword.getStrength());
+        assertEquals(RSPasswordInput.STATE_DEFAULT, samePassword.getState());
+        assertEquals(0, strengthCalls[0]);
+    }
+
+    @Test
+    public void release_respectsCapacity() {
+        pool.setCapacity(RSViewPool.TYPE_BUTTON, 1);
+
+        assertTrue(pool.release(new RSButton(context)));
+        assertFalse(pool.release(new RSButton(context)));
+        assertEquals(1, pool.getAvailable(RSViewPool.TYPE_BUTTON));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void release_attachedView_throws() {
+        FrameLayout parent = new FrameLayout(context);
+        RSButton button = pool.obtainButton();
+        parent.addView(button);
+        pool.release(button);
+    }
+
+    @Test
+    public void prefill_createsInBackground_andDeliversOnMain() throws Exception {
+        ExecutorService background = Executors.newSingleThreadExecutor();
+        RSViewPool bgPool = new RSViewPool(context, background);
+
+        bgPool.prefill(RSViewPool.TYPE_EDIT_TEXT, 3);
+        bgPool.prefill(RSViewPool.TYPE_CHECKBOX, 2);
+        drain(background);
+
+        assertEquals(3, bgPool.getAvailable(RSViewPool.TYPE_EDIT_TEXT));
+        assertEquals(2, bgPool.getAvailable(RSViewPool.TYPE_CHECKBOX));
+        RSEditText input = bgPool.obtainEditText();
+        input.setErrorState(null);
+        assertEquals(RSEditText.STATE_ERROR, input.getState());
+    }
+
+    @Test
+    public void prefill_backgroundFailure_fallsBackToMain() throws Exception {
+        Thread mainThread = Thread.currentThread();
+        // arka plan thread'inde her resource erişimi patlar
+        Context failingOffMain = new ContextWrapper(context) {
+            @Override
+            public Resources getResources() {
+                if (Thread.currentThread() != mainThread) throw new IllegalStateException("no resources here");
+                return super.getResources();
+            }
+        };
+        ExecutorService background = Executors.newSingleThreadExecutor();
+        RSViewPool bgPool = new RSViewPool(failingOffMain, background);
+
+        bgPool.prefill(RSViewPool.TYPE_BUTTON, 2);
+        drain(background);
+
+        assertEquals(2, bgPool.getAvailable(RSViewPool.TYPE_BUTTON));
+        assertNotNull(bgPool.obtainButton());
+    }
+
+    @Test
+    public void backgroundThread_neverJoinsMainThreadBatch() throws Exception {
+        boolean[] batching = {true};
+        RSUiKit.beginBatch();
+        try {
+            Thread t = new Thread(() -> batching[0] = RSUiKit.isBatching());
+            t.start();
+            t.join();
+            assertTrue(RSUiKit.isBatching());
+        } finally {
+            RSUiKit.endBatch();
+        }
+        assertFalse(batching[0]);
+    }
+
+    // arka plan işlerinin bitmesini bekle, main'e post edilen sonuçları uygula
+    private static void drain(ExecutorService background) throws InterruptedException {
+        background.shutdown();
+        assertTrue(background.awaitTermination(10, TimeUnit.SECONDS));
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+}